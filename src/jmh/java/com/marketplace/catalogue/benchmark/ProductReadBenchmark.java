@@ -0,0 +1,118 @@
+package com.marketplace.catalogue.benchmark;
+
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.PassThroughEnrichmentCache;
+import com.marketplace.catalogue.client.BatchLookups;
+import com.marketplace.catalogue.client.DownstreamGuard;
+import com.marketplace.catalogue.client.EchoServiceClient;
+import com.marketplace.catalogue.client.MetronomeServiceClient;
+import com.marketplace.catalogue.client.OrnamentoServiceClient;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.client.SingleFlight;
+import com.marketplace.catalogue.config.EnrichmentProperties;
+import com.marketplace.catalogue.config.TokenHolder;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.outbox.ProductOutbox;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import com.marketplace.catalogue.repository.ProductRepository;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import com.marketplace.catalogue.service.impl.ProductServiceImpl;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product read path (ProductServiceImpl) with in-memory repositories and downstream services
+ * answering after latencyMs. The enrichment cache is disabled, so every operation goes downstream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductReadBenchmark {
+
+    @Param({"0", "20"})
+    public int latencyMs;
+
+    @Param({"50"})
+    public int listSize;
+
+    private ProductServiceImpl productService;
+    private UUID productId;
+
+    @Setup
+    public void setUp() {
+        Duration latency = Duration.ofMillis(latencyMs);
+        EnrichmentCache cache = new PassThroughEnrichmentCache();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamGuard guard = new DownstreamGuard(CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(1000).build()), meterRegistry);
+        SingleFlight singleFlight = new SingleFlight(meterRegistry);
+        BatchLookups batchLookups = new BatchLookups(meterRegistry);
+        TokenHolder tokenHolder = new TokenHolder();
+
+        ScenaServiceClient scena = new ScenaServiceClient(
+                StubDownstream.client(latency, path -> path.startsWith("/thumbnail") ? StubDownstream.thumbnail() : StubDownstream.media()),
+                tokenHolder, cache, guard, singleFlight, batchLookups);
+        MetronomeServiceClient metronome = new MetronomeServiceClient(
+                StubDownstream.client(latency, path -> StubDownstream.inventory()), tokenHolder, guard, singleFlight, batchLookups);
+        OrnamentoServiceClient ornamento = new OrnamentoServiceClient(
+                StubDownstream.client(latency, path -> StubDownstream.discount()), tokenHolder, cache, guard, singleFlight, batchLookups);
+        EchoServiceClient echo = new EchoServiceClient(
+                StubDownstream.client(latency, path -> StubDownstream.reviews(10)), tokenHolder, cache, guard, singleFlight, batchLookups);
+        EnrichmentProperties properties = new EnrichmentProperties();
+        ProductEnrichmentAggregator aggregator = new ProductEnrichmentAggregator(scena, metronome, ornamento, echo, properties, meterRegistry,
+                ObservationRegistry.NOOP);
+
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Électronique");
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            products.add(new Product(UUID.randomUUID(), "Produit " + i, "Description du produit " + i,
+                    category.getId(), 99.9 + i, ProductStatus.available, LocalDateTime.now(), LocalDateTime.now()));
+        }
+        productId = products.get(0).getId();
+
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        Mockito.when(productRepository.findById(productId)).thenReturn(Optional.of(products.get(0)));
+        Mockito.when(productRepository.findAll()).thenReturn(products);
+        CategoryRepository categoryRepository = Mockito.mock(CategoryRepository.class);
+        Mockito.when(categoryRepository.findAllActive()).thenReturn(List.of(category));
+        CategoryDictionary categoryDictionary = new CategoryDictionary(categoryRepository);
+        categoryDictionary.reload();
+
+        productService = new ProductServiceImpl(productRepository, categoryDictionary, aggregator, cache, properties,
+                ObservationRegistry.NOOP, event -> { }, Mockito.mock(ProductOutbox.class),
+                Mockito.mock(PlatformTransactionManager.class));
+    }
+
+    @Benchmark
+    public ProductDetails getProductDetails() {
+        return productService.getProductDetails(productId);
+    }
+
+    @Benchmark
+    public List<ProductDetails> getAllProductDetails() {
+        return productService.getAllProductDetails(null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.marketplace.catalogue.benchmark;
+
+import com.marketplace.catalogue.model.ProductStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parameter parsing done by the controllers on every listing and lookup
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestParsingBenchmark {
+
+    private String categoryId;
+    private String status;
+
+    @Setup
+    public void setUp() {
+        categoryId = UUID.randomUUID().toString();
+        status = "AVAILABLE";
+    }
+
+    @Benchmark
+    public UUID parseUuid() {
+        return UUID.fromString(categoryId);
+    }
+
+    @Benchmark
+    public ProductStatus parseStatus() {
+        return ProductStatus.valueOf(status.toLowerCase());
+    }
+}
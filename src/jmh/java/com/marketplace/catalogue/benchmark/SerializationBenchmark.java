@@ -0,0 +1,87 @@
+package com.marketplace.catalogue.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.marketplace.catalogue.dto.ApiResponse;
+import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.Reviews;
+import com.marketplace.catalogue.model.ProductStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the API responses, with an ObjectMapper configured like Spring Boot's,
+ * in each of the encodings the API offers (JSON, CBOR, Smile)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"100"})
+    public int listSize;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<ProductDetails> single;
+    private ApiResponse<List<ProductDetails>> list;
+
+    @Setup
+    public void setUp() {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<ProductDetails> products = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            products.add(productDetails(i));
+        }
+        single = ApiResponse.ok("Détails du produit récupérés avec succès", products.get(0));
+        list = ApiResponse.ok("Liste des produits récupérée avec succès", products);
+    }
+
+    @Benchmark
+    public byte[] serializeProductDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializeProductDetailsList() throws Exception {
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    private static ProductDetails productDetails(int i) {
+        ProductDetails details = new ProductDetails();
+        details.setId(UUID.randomUUID());
+        details.setName("Produit " + i);
+        details.setDescription("Description du produit " + i);
+        details.setBasePrice(99.9 + i);
+        details.setCategory("Électronique");
+        details.setStatus(ProductStatus.available);
+        details.setThumbnailUrl("https://cdn.example.com/" + i + "/thumb.jpg");
+        details.setMediaUrls(List.of("https://cdn.example.com/" + i + "/1.jpg", "https://cdn.example.com/" + i + "/2.mp4"));
+        details.setInventory(42);
+        details.setDiscount(new Discount(15.0, null, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+        List<Reviews.ReviewItem> items = new ArrayList<>();
+        for (int r = 0; r < 5; r++) {
+            items.add(new Reviews.ReviewItem("Très bon produit", 4.0, "u-" + r, LocalDateTime.of(2025, 3, 1, 10, 15)));
+        }
+        details.setReviews(new Reviews(4.0, items.size(), items));
+        return details;
+    }
+}
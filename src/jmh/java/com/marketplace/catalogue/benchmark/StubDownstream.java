@@ -0,0 +1,70 @@
+package com.marketplace.catalogue.benchmark;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebClients answering from memory instead of the network, after a fixed latency.
+ * The request still goes through the real codecs, so JSON decoding is part of the measurement.
+ */
+final class StubDownstream {
+
+    private StubDownstream() {
+    }
+
+    /**
+     * @param latency delay before each response
+     * @param bodyForPath JSON body returned for a request path
+     */
+    static WebClient client(Duration latency, Function<String, String> bodyForPath) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    Mono<ClientResponse> response = Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(bodyForPath.apply(request.url().getPath()))
+                            .build());
+                    return latency.isZero() ? response : response.delaySubscription(latency);
+                })
+                .build();
+    }
+
+    static String thumbnail() {
+        return "{\"id\":\"m-1\",\"product_id\":\"p\",\"file_url\":\"https://cdn.example.com/thumb.jpg\",\"file_type\":\"image\",\"is_thumbnail\":true}";
+    }
+
+    static String media() {
+        return "[" + thumbnail() + ","
+                + "{\"id\":\"m-2\",\"product_id\":\"p\",\"file_url\":\"https://cdn.example.com/1.jpg\",\"file_type\":\"image\",\"is_thumbnail\":false},"
+                + "{\"id\":\"m-3\",\"product_id\":\"p\",\"file_url\":\"https://cdn.example.com/2.mp4\",\"file_type\":\"video\",\"is_thumbnail\":false}]";
+    }
+
+    static String inventory() {
+        return "{\"product_id\":\"p\",\"available_quantity\":42,\"reserved_quantity\":3}";
+    }
+
+    static String discount() {
+        return "{\"id\":7,\"product_id\":1,\"discount_percentage\":15.0,\"start_date\":\"2025-01-01\",\"end_date\":\"2025-12-31\"}";
+    }
+
+    static String reviews(int count) {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"userId\":\"u-").append(i)
+                    .append("\",\"produitId\":\"p\",\"commentaire\":\"Très bon produit\",\"note\":")
+                    .append(1 + i % 5)
+                    .append(",\"id\":\"r-").append(i)
+                    .append("\",\"date\":\"2025-03-01T10:15:30\"}");
+        }
+        return body.append(']').toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.marketplace.catalogue.client;
+
+import com.marketplace.catalogue.dto.Reviews;
+import com.marketplace.catalogue.dto.external.EchoReviewResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of the ECHO reviews to the aggregated Reviews (average rating, count, items)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewAggregationBenchmark {
+
+    @Param({"10", "500"})
+    public int reviewCount;
+
+    private List<EchoReviewResponse> reviews;
+
+    @Setup
+    public void setUp() {
+        reviews = new ArrayList<>();
+        for (int i = 0; i < reviewCount; i++) {
+            reviews.add(new EchoReviewResponse("u-" + i, "p", "Très bon produit", 1 + i % 5, "r-" + i,
+                    LocalDateTime.of(2025, 3, 1, 10, 15)));
+        }
+    }
+
+    @Benchmark
+    public Reviews toReviews() {
+        return EchoServiceClient.toReviews(reviews);
+    }
+}
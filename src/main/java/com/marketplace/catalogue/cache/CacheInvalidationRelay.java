@@ -0,0 +1,48 @@
+package com.marketplace.catalogue.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the local caches of every node coherent with the writes made on any of them:
+ * product and category changes are published on the InvalidationBus once their transaction is over,
+ * and the invalidations received from the bus are applied to this node's caches.
+ */
+@Component
+public class CacheInvalidationRelay {
+
+    private final InvalidationBus invalidationBus;
+    private final EnrichmentCache enrichmentCache;
+    private final CategoryDictionary categoryDictionary;
+
+    public CacheInvalidationRelay(InvalidationBus invalidationBus,
+                                  EnrichmentCache enrichmentCache,
+                                  CategoryDictionary categoryDictionary) {
+        this.invalidationBus = invalidationBus;
+        this.enrichmentCache = enrichmentCache;
+        this.categoryDictionary = categoryDictionary;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    /**
+     * Product writes also change data in the downstream services, which is not rolled back with
+     * the transaction: the product is invalidated whatever the outcome
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidationBus.publish(InvalidationEvent.product(event.productId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidationBus.publish(InvalidationEvent.category(event.categoryId()));
+    }
+
+    private void apply(InvalidationEvent event) {
+        switch (event.kind()) {
+            case PRODUCT -> enrichmentCache.invalidate(event.id());
+            case CATEGORY -> categoryDictionary.refresh(event.id());
+        }
+    }
+}
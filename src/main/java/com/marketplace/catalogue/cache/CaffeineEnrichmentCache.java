@@ -0,0 +1,132 @@
+package com.marketplace.catalogue.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.marketplace.catalogue.config.EnrichmentCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * EnrichmentCache backed by one size-bounded Caffeine cache (W-TinyLFU eviction) per source.
+ * Entries older than the source's refreshAfter are served stale while a background call
+ * refreshes them. Concurrent misses on the same product share one downstream call.
+ */
+public class CaffeineEnrichmentCache implements EnrichmentCache {
+
+    private final Map<EnrichmentSource, SourceCache> caches = new EnumMap<>(EnrichmentSource.class);
+
+    public CaffeineEnrichmentCache(EnrichmentCacheProperties properties, MeterRegistry meterRegistry) {
+        properties.getSources().forEach((source, settings) -> {
+            AsyncCache<UUID, Entry> cache = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaximumSize())
+                    .expireAfter(new EntryExpiry())
+                    .recordStats()
+                    .buildAsync();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "enrichment." + source.name().toLowerCase());
+            caches.put(source, new SourceCache(cache, settings));
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(EnrichmentSource source, UUID productId, Function<UUID, Mono<T>> loader) {
+        SourceCache sourceCache = caches.get(source);
+        if (sourceCache == null) {
+            return loader.apply(productId);
+        }
+
+        // The mapping function runs on the calling thread, so the loader sees the caller's request token
+        CompletableFuture<Entry> entry = sourceCache.cache.get(productId,
+                (id, executor) -> load(sourceCache.settings, id, loader));
+
+        // Keep loading even if this caller gives up (latency budget): the next request will get the value
+        return Mono.fromFuture(entry, true)
+                .doOnNext(loaded -> refreshIfStale(sourceCache, productId, entry, loaded, loader))
+                .mapNotNull(loaded -> (T) loaded.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getIfPresent(EnrichmentSource source, UUID productId) {
+        SourceCache sourceCache = caches.get(source);
+        CompletableFuture<Entry> entry = sourceCache != null ? sourceCache.cache.getIfPresent(productId) : null;
+        if (entry == null || !entry.isDone() || entry.isCompletedExceptionally()) {
+            return null;
+        }
+        return (T) entry.join().value();
+    }
+
+    @Override
+    public void invalidate(UUID productId) {
+        caches.values().forEach(sourceCache -> sourceCache.cache.synchronous().invalidate(productId));
+    }
+
+    private static <T> CompletableFuture<Entry> load(EnrichmentCacheProperties.Source settings,
+                                                     UUID productId,
+                                                     Function<UUID, Mono<T>> loader) {
+        return loader.apply(productId)
+                .map(value -> new Entry(value, System.nanoTime(), settings.getTtl()))
+                .switchIfEmpty(Mono.fromSupplier(() -> new Entry(null, System.nanoTime(), settings.getNegativeTtl())))
+                .toFuture();
+    }
+
+    private static <T> void refreshIfStale(SourceCache sourceCache, UUID productId,
+                                           CompletableFuture<Entry> current, Entry entry,
+                                           Function<UUID, Mono<T>> loader) {
+        long age = System.nanoTime() - entry.loadedAt();
+        if (age < sourceCache.settings.getRefreshAfter().toNanos() || !sourceCache.refreshing.add(productId)) {
+            return;
+        }
+
+        // On failure the stale entry is kept until its TTL. The refreshed value only replaces the entry it
+        // was loaded for: if the product was invalidated (or reloaded) meanwhile, it may predate the change
+        Mono.fromFuture(load(sourceCache.settings, productId, loader))
+                .doFinally(signal -> sourceCache.refreshing.remove(productId))
+                .subscribe(
+                        refreshed -> sourceCache.cache.asMap()
+                                .replace(productId, current, CompletableFuture.completedFuture(refreshed)),
+                        error -> { });
+    }
+
+    /**
+     * A cached answer; value is null for a negative entry
+     */
+    private record Entry(Object value, long loadedAt, Duration ttl) {
+    }
+
+    private record SourceCache(AsyncCache<UUID, Entry> cache,
+                               EnrichmentCacheProperties.Source settings,
+                               Set<UUID> refreshing) {
+        SourceCache(AsyncCache<UUID, Entry> cache, EnrichmentCacheProperties.Source settings) {
+            this(cache, settings, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    private static class EntryExpiry implements Expiry<UUID, Entry> {
+        @Override
+        public long expireAfterCreate(UUID key, Entry value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Entry value, long currentTime, long currentDuration) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
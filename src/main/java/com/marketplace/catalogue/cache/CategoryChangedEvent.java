@@ -0,0 +1,10 @@
+package com.marketplace.catalogue.cache;
+
+import java.util.UUID;
+
+/**
+ * Published when a category is created, renamed or deleted
+ * @param categoryId the ID of the changed category
+ */
+public record CategoryChangedEvent(UUID categoryId) {
+}
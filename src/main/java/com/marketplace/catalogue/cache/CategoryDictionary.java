@@ -0,0 +1,108 @@
+package com.marketplace.catalogue.cache;
+
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-process dictionary of the active categories, so that category names and the /categories
+ * endpoints are served without a database round-trip.
+ *
+ * Readers get an immutable snapshot; it is loaded at startup and a new one is swapped in each time a
+ * category is created, renamed or deleted on any node (see CacheInvalidationRelay).
+ * The categories table is small and rarely written, so copying it on every write is cheap.
+ */
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private volatile Map<UUID, Entry> snapshot;
+
+    public CategoryDictionary(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * @param categoryId the category ID
+     * @return the category, empty if it does not exist or is deleted
+     */
+    public Optional<Entry> find(UUID categoryId) {
+        return Optional.ofNullable(snapshot().get(categoryId));
+    }
+
+    /**
+     * @param categoryId the category ID (may be null)
+     * @return the category name, null if it does not exist or is deleted
+     */
+    public String name(UUID categoryId) {
+        Entry entry = categoryId != null ? snapshot().get(categoryId) : null;
+        return entry != null ? entry.name() : null;
+    }
+
+    /**
+     * @return all active categories
+     */
+    public List<Entry> all() {
+        return List.copyOf(snapshot().values());
+    }
+
+    /**
+     * Replaces the snapshot with the current content of the categories table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<UUID, Entry> entries = new LinkedHashMap<>();
+        categoryRepository.findAllActive().forEach(category -> entries.put(category.getId(), Entry.of(category)));
+        snapshot = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Re-reads a changed category and swaps in a new snapshot
+     * @param categoryId the ID of the created, renamed or deleted category
+     */
+    public synchronized void refresh(UUID categoryId) {
+        if (snapshot == null) {
+            reload();
+            return;
+        }
+        Map<UUID, Entry> entries = new LinkedHashMap<>(snapshot);
+        categoryRepository.findByIdAndNotDeleted(categoryId).ifPresentOrElse(
+                category -> entries.put(categoryId, Entry.of(category)),
+                () -> entries.remove(categoryId));
+        snapshot = Collections.unmodifiableMap(entries);
+    }
+
+    private Map<UUID, Entry> snapshot() {
+        Map<UUID, Entry> current = snapshot;
+        if (current == null) {
+            // Read before the application is ready (e.g. by a runner): load now
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Immutable copy of an active category
+     */
+    public record Entry(UUID id, String name, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Entry of(Category category) {
+            return new Entry(category.getId(), category.getName(), category.getCreatedAt(), category.getUpdatedAt());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.marketplace.catalogue.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache in front of the downstream enrichment calls.
+ * A value emitted by the loader is cached, an empty loader result is cached as "no data"
+ * (negative entry), and a loader error is never cached.
+ */
+public interface EnrichmentCache {
+
+    /**
+     * @param source the kind of data requested
+     * @param productId the product ID
+     * @param loader the downstream call used on a cache miss
+     * @return Mono emitting the cached or loaded value, empty if the product has no such data
+     */
+    <T> Mono<T> get(EnrichmentSource source, UUID productId, Function<UUID, Mono<T>> loader);
+
+    /**
+     * @param source the kind of data requested
+     * @param productId the product ID
+     * @return the cached value, null if not cached (or still loading) or if the product has no such data;
+     * never calls the downstream service
+     */
+    <T> T getIfPresent(EnrichmentSource source, UUID productId);
+
+    /**
+     * Drops every cached entry of a product, to be called after the product or its
+     * downstream data has been written
+     */
+    void invalidate(UUID productId);
+}
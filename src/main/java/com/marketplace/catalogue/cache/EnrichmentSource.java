@@ -0,0 +1,11 @@
+package com.marketplace.catalogue.cache;
+
+/**
+ * Downstream data that can be cached per product
+ */
+public enum EnrichmentSource {
+    THUMBNAIL,  // SCENA thumbnail URL
+    MEDIA,      // SCENA media URLs
+    DISCOUNT,   // ORNAMENTO discount
+    REVIEWS     // ECHO reviews aggregate
+}
@@ -0,0 +1,28 @@
+package com.marketplace.catalogue.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the replicas of the service, so that every node evicts its
+ * local entries (enrichment cache, category dictionary) when a product or a category is written
+ * on any of them.
+ *
+ * A transport delivers each published event to the subscribers of every node, the publishing
+ * node included, at least once; handling an event twice must be harmless. The default
+ * implementation (LocalInvalidationBus) only reaches the current JVM; declare another
+ * InvalidationBus bean (e.g. on top of a message broker) to replace it.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Sends an invalidation to every node
+     * @param event the changed entity
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * Registers a handler for the invalidations received by this node
+     * @param listener the handler, called for every received event
+     */
+    void subscribe(Consumer<InvalidationEvent> listener);
+}
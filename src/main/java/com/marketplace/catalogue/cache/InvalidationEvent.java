@@ -0,0 +1,24 @@
+package com.marketplace.catalogue.cache;
+
+import java.util.UUID;
+
+/**
+ * "Product X changed" or "category Y changed", as sent on the InvalidationBus
+ * @param kind the kind of the changed entity
+ * @param id the ID of the changed entity
+ */
+public record InvalidationEvent(Kind kind, UUID id) {
+
+    public enum Kind {
+        PRODUCT,
+        CATEGORY
+    }
+
+    public static InvalidationEvent product(UUID productId) {
+        return new InvalidationEvent(Kind.PRODUCT, productId);
+    }
+
+    public static InvalidationEvent category(UUID categoryId) {
+        return new InvalidationEvent(Kind.CATEGORY, categoryId);
+    }
+}
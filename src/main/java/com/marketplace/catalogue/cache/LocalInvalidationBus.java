@@ -0,0 +1,35 @@
+package com.marketplace.catalogue.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM invalidation bus: events are delivered synchronously to the subscribers of this node only.
+ * Enough for a single instance and for tests; several replicas need a transport that reaches them all.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+    private static final Logger log = LoggerFactory.getLogger(LocalInvalidationBus.class);
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                // One failing handler must not prevent the others from evicting their entries
+                log.warn("Failed to handle cache invalidation {}", event, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+}
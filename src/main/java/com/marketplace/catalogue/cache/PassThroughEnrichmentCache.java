@@ -0,0 +1,27 @@
+package com.marketplace.catalogue.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * EnrichmentCache used when caching is disabled: every call goes to the downstream service
+ */
+public class PassThroughEnrichmentCache implements EnrichmentCache {
+
+    @Override
+    public <T> Mono<T> get(EnrichmentSource source, UUID productId, Function<UUID, Mono<T>> loader) {
+        return loader.apply(productId);
+    }
+
+    @Override
+    public <T> T getIfPresent(EnrichmentSource source, UUID productId) {
+        return null;
+    }
+
+    @Override
+    public void invalidate(UUID productId) {
+        // Nothing cached
+    }
+}
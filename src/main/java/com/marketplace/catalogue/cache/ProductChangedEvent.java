@@ -0,0 +1,10 @@
+package com.marketplace.catalogue.cache;
+
+import java.util.UUID;
+
+/**
+ * Published when a product, or its data held by the downstream services, is created, updated or deleted
+ * @param productId the ID of the changed product
+ */
+public record ProductChangedEvent(UUID productId) {
+}
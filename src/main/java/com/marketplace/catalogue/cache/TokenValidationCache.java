@@ -0,0 +1,154 @@
+package com.marketplace.catalogue.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.marketplace.catalogue.client.AriaServiceClient;
+import com.marketplace.catalogue.config.TokenCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded cache of ARIA token validations, keyed by the SHA-256 of the token so that raw
+ * tokens are never kept in memory. Accepted tokens are trusted until the configured TTL or
+ * their `exp` claim, whichever comes first; rejected tokens are remembered for a shorter time.
+ * Concurrent validations of the same token share a single ARIA call.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final AriaServiceClient ariaServiceClient;
+    private final ObjectMapper objectMapper;
+    private final TokenCacheProperties properties;
+    private final AsyncCache<String, Validation> cache;
+
+    @Autowired
+    public TokenValidationCache(AriaServiceClient ariaServiceClient,
+                                ObjectMapper objectMapper,
+                                TokenCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(ariaServiceClient, objectMapper, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    TokenValidationCache(AriaServiceClient ariaServiceClient,
+                         ObjectMapper objectMapper,
+                         TokenCacheProperties properties,
+                         MeterRegistry meterRegistry,
+                         Ticker ticker) {
+        this.ariaServiceClient = ariaServiceClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new ValidationExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "aria.token-validation");
+        Gauge.builder("aria.token-validation.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of token validations answered from the local cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates a token, asking ARIA only when the cache has no live answer for it
+     * @param token JWT token to validate
+     * @return true if the token is valid for an admin, false otherwise (including when ARIA is unavailable)
+     */
+    public boolean isValid(String token) {
+        if (!properties.isEnabled()) {
+            return ariaServiceClient.validateToken(token);
+        }
+
+        try {
+            // A failed ARIA call completes the future exceptionally, which evicts it: errors are not cached
+            return cache.get(hash(token), (key, executor) -> load(token)).join().valid();
+        } catch (Exception e) {
+            // Service unavailable - return false for security
+            return false;
+        }
+    }
+
+    private CompletableFuture<Validation> load(String token) {
+        return ariaServiceClient.fetchTokenValidation(token)
+                .map(valid -> new Validation(valid, valid ? positiveTtl(token) : properties.getNegativeTtl()))
+                .contextCapture() // the ARIA call joins the trace of the request being authenticated
+                .toFuture();
+    }
+
+    private Duration positiveTtl(String token) {
+        Duration ttl = properties.getTtl();
+        Instant expiresAt = readExpiration(token);
+        if (expiresAt == null) {
+            return ttl;
+        }
+        Duration untilExpiration = Duration.between(Instant.now(), expiresAt);
+        if (untilExpiration.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilExpiration.compareTo(ttl) < 0 ? untilExpiration : ttl;
+    }
+
+    /**
+     * Reads the `exp` claim of a JWT without verifying it (ARIA does that); it only bounds the cache TTL.
+     * @return the expiration instant or null if the token has no readable `exp` claim
+     */
+    private Instant readExpiration(String token) {
+        try {
+            String[] parts = token.split("\\.");
+            if (parts.length < 2) {
+                return null;
+            }
+            JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            JsonNode exp = payload.get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Validation(boolean valid, Duration ttl) {
+    }
+
+    private static class ValidationExpiry implements Expiry<String, Validation> {
+        @Override
+        public long expireAfterCreate(String key, Validation value, long currentTime) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Validation value, long currentTime, long currentDuration) {
+            return value.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Validation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,16 +4,21 @@ import com.marketplace.catalogue.dto.external.AriaTokenValidationResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 
 @Component
 public class AriaServiceClient {
+
+    private static final String SERVICE_NAME = "aria";
     
     private final WebClient webClient;
+    private final DownstreamGuard downstreamGuard;
     
-    public AriaServiceClient(WebClient ariaClient) {
+    public AriaServiceClient(WebClient ariaClient, DownstreamGuard downstreamGuard) {
         this.webClient = ariaClient;
+        this.downstreamGuard = downstreamGuard;
     }
     
     /**
@@ -23,22 +28,32 @@ public class AriaServiceClient {
      */
     public boolean validateToken(String token) {
         try {
-            AriaTokenValidationResponse response = webClient
-                    .get()
-                    .uri("/users/validate")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(AriaTokenValidationResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            
-            return response != null && response.isValid() && response.getRole().equals("admin");
-        } catch (WebClientResponseException e) {
-            // Token validation failed
-            return false;
+            return Boolean.TRUE.equals(fetchTokenValidation(token).block());
         } catch (Exception e) {
             // Service unavailable - return false for security
             return false;
         }
     }
+
+    /**
+     * Non-blocking variant of {@link #validateToken(String)}
+     * @param token JWT token to validate
+     * @return Mono emitting true if the token is valid for an admin, false if ARIA rejected it;
+     *         errors when ARIA could not give an answer (timeout, 5xx...)
+     */
+    public Mono<Boolean> fetchTokenValidation(String token) {
+        return downstreamGuard.protect(SERVICE_NAME, "validate-token", webClient
+                .get()
+                .uri("/users/validate")
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(AriaTokenValidationResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .map(response -> response.isValid() && "admin".equals(response.getRole()))
+                .defaultIfEmpty(false)
+                // Token validation failed
+                .onErrorResume(WebClientResponseException.class, e -> e.getStatusCode().is4xxClientError()
+                        ? Mono.just(false)
+                        : Mono.error(e)));
+    }
 }
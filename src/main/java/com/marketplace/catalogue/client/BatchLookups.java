@@ -0,0 +1,51 @@
+package com.marketplace.catalogue.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Helper shared by the service clients to resolve one lookup for many products.
+ * The downstream services only expose per-product endpoints, so a batch is sent as
+ * concurrent single calls, with at most {@code concurrency} requests in flight.
+ * Products whose call failed are counted by the enrichment.degraded counter, like the
+ * single-product lookups of ProductEnrichmentAggregator.
+ */
+@Component
+public class BatchLookups {
+
+    private final MeterRegistry meterRegistry;
+
+    public BatchLookups(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param field the enriched field, used to tag the degraded counter
+     * @param productIds the product IDs to resolve
+     * @param lookup the single-product call
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the values by product ID; products without value or whose call failed are absent
+     */
+    public <T> Mono<Map<UUID, T>> collect(String field,
+                                         Collection<UUID> productIds,
+                                         Function<UUID, Mono<T>> lookup,
+                                         int concurrency) {
+        return Flux.fromIterable(productIds)
+                .distinct()
+                .flatMap(productId -> lookup.apply(productId)
+                        .map(value -> Map.entry(productId, value))
+                        .onErrorResume(e -> {
+                            meterRegistry.counter("enrichment.degraded", "field", field, "reason", DownstreamGuard.outcome(e))
+                                    .increment();
+                            return Mono.empty();
+                        }), concurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
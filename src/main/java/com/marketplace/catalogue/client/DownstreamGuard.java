@@ -0,0 +1,84 @@
+package com.marketplace.catalogue.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps downstream calls in the circuit breaker and bulkhead of their service, and times them.
+ * Instances are named after the service (aria, metronome, scena, echo, ornamento) and configured
+ * with resilience4j.circuitbreaker.instances.<name>.* and resilience4j.bulkhead.instances.<name>.*
+ *
+ * When the circuit is open or the bulkhead is full, the call fails immediately
+ * (CallNotPermittedException / BulkheadFullException) without touching the network,
+ * and callers degrade the field to null as for any other downstream error.
+ *
+ * Every call is recorded by the downstream.calls timer, tagged with service, operation and
+ * outcome (success, empty, timeout, rejected, error or cancelled).
+ */
+@Component
+public class DownstreamGuard {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamGuard(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                           MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param serviceName the downstream service name
+     * @param operation the called operation, e.g. "thumbnail"
+     * @param call the downstream call; an empty result counts as a success
+     * @return the guarded call
+     */
+    public <T> Mono<T> protect(String serviceName, String operation, Mono<T> call) {
+        // The bulkhead is inside the circuit breaker, so an open circuit does not take a permit
+        Mono<T> guarded = call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(serviceName)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(serviceName)));
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return guarded
+                    .doOnSuccess(value -> record(sample, serviceName, operation, value != null ? "success" : "empty"))
+                    .doOnError(error -> record(sample, serviceName, operation, outcome(error)))
+                    .doOnCancel(() -> record(sample, serviceName, operation, "cancelled"));
+        });
+    }
+
+    /**
+     * @return the outcome tag of a failed downstream call: timeout, rejected (open circuit or full bulkhead) or error
+     */
+    public static String outcome(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof CallNotPermittedException || error instanceof BulkheadFullException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private void record(Timer.Sample sample, String serviceName, String operation, String outcome) {
+        sample.stop(Timer.builder("downstream.calls")
+                .description("Calls to the downstream services")
+                .tag("service", serviceName)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -1,66 +1,96 @@
 package com.marketplace.catalogue.client;
 
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentSource;
 import com.marketplace.catalogue.config.TokenHolder;
 import com.marketplace.catalogue.dto.Reviews;
 import com.marketplace.catalogue.dto.external.EchoReviewResponse;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class EchoServiceClient {
+
+    private static final String SERVICE_NAME = "echo";
     
     private final WebClient webClient;
     private final TokenHolder tokenHolder;
+    private final EnrichmentCache enrichmentCache;
+    private final DownstreamGuard downstreamGuard;
+    private final SingleFlight singleFlight;
+    private final BatchLookups batchLookups;
     
-    public EchoServiceClient(WebClient echoClient, TokenHolder tokenHolder) {
+    public EchoServiceClient(WebClient echoClient, TokenHolder tokenHolder, EnrichmentCache enrichmentCache, DownstreamGuard downstreamGuard, SingleFlight singleFlight, BatchLookups batchLookups) {
         this.webClient = echoClient;
         this.tokenHolder = tokenHolder;
+        this.enrichmentCache = enrichmentCache;
+        this.downstreamGuard = downstreamGuard;
+        this.singleFlight = singleFlight;
+        this.batchLookups = batchLookups;
     }
     
     /**
-     * Retrieves reviews for a product from ECHO service
+     * Retrieves the reviews of a product from ECHO service
+     * (read through the enrichment cache)
      * @param productId the product ID
-     * @return Reviews object or null if service unavailable
+     * @return Mono emitting the aggregated reviews, empty if the product has no review
+     */
+    public Mono<Reviews> fetchProductReviews(UUID productId) {
+        return enrichmentCache.get(EnrichmentSource.REVIEWS, productId,
+                id -> singleFlight.execute("echo.reviews", id, this::requestProductReviews));
+    }
+
+    private Mono<Reviews> requestProductReviews(UUID productId) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "reviews", webClient.get()
+                .uri("/avis/{productId}", productId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<EchoReviewResponse>>() {})
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .mapNotNull(EchoServiceClient::toReviews));
+    }
+
+    /**
+     * Batch variant of {@link #fetchProductReviews(UUID)}
+     * @param productIds the product IDs
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the reviews by product ID (products without review are absent)
      */
-    public Reviews getProductReviews(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            List<EchoReviewResponse> response = webClient.get()
-                    .uri("/avis/{productId}", productId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<List<EchoReviewResponse>>() {})
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-                    
-            if (response == null || response.isEmpty()) {
-                return null;
-            }
-            
-            // Map external DTO to internal DTO
-            List<Reviews.ReviewItem> items = response.stream()
-                    .map(echoReview -> new Reviews.ReviewItem(
-                            echoReview.getCommentaire(),
-                            echoReview.getNote().doubleValue(),
-                            echoReview.getUserId(),
-                            echoReview.getDate()
-                    ))
-                    .toList();
-                    
-            double averageRating = response.stream()
-                    .mapToInt(EchoReviewResponse::getNote)
-                    .average()
-                    .orElse(0.0);
-                    
-            return new Reviews(averageRating, response.size(), items);
-        } catch (Exception e) {
-            // Service unavailable, return null as specified in OpenAPI
+    public Mono<Map<UUID, Reviews>> fetchProductReviews(Collection<UUID> productIds, int concurrency) {
+        return batchLookups.collect("reviews", productIds, this::fetchProductReviews, concurrency);
+    }
+
+    static Reviews toReviews(List<EchoReviewResponse> response) {
+        if (response.isEmpty()) {
             return null;
         }
+
+        // Map external DTO to internal DTO
+        List<Reviews.ReviewItem> items = response.stream()
+                .map(echoReview -> new Reviews.ReviewItem(
+                        echoReview.getCommentaire(),
+                        echoReview.getNote().doubleValue(),
+                        echoReview.getUserId(),
+                        echoReview.getDate()
+                ))
+                .toList();
+
+        double averageRating = response.stream()
+                .mapToInt(EchoReviewResponse::getNote)
+                .average()
+                .orElse(0.0);
+
+        return new Reviews(averageRating, response.size(), items);
     }
 }
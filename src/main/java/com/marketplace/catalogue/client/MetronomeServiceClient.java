@@ -3,91 +3,106 @@ package com.marketplace.catalogue.client;
 import com.marketplace.catalogue.config.TokenHolder;
 import com.marketplace.catalogue.dto.external.MetronomeInventoryRequest;
 import com.marketplace.catalogue.dto.external.MetronomeInventoryResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class MetronomeServiceClient {
 
+    private static final String SERVICE_NAME = "metronome";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final WebClient webClient;
     private final TokenHolder tokenHolder;
+    private final DownstreamGuard downstreamGuard;
+    private final SingleFlight singleFlight;
+    private final BatchLookups batchLookups;
 
-    public MetronomeServiceClient(WebClient metronomeClient, TokenHolder tokenHolder) {
+    public MetronomeServiceClient(WebClient metronomeClient, TokenHolder tokenHolder, DownstreamGuard downstreamGuard, SingleFlight singleFlight, BatchLookups batchLookups) {
         this.webClient = metronomeClient;
         this.tokenHolder = tokenHolder;
+        this.downstreamGuard = downstreamGuard;
+        this.singleFlight = singleFlight;
+        this.batchLookups = batchLookups;
     }
 
     /**
-     * Retrieves inventory count for a product from METRONOME service
+     * Retrieves the inventory count of a product from METRONOME service
      *
      * @param productId the product ID
-     * @return inventory count or null if service unavailable
+     * @return Mono emitting the available quantity
      */
-    public Integer getProductInventory(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            MetronomeInventoryResponse response = webClient.get()
-                    .uri("/inventory/{productId}", productId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(MetronomeInventoryResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
+    public Mono<Integer> fetchProductInventory(UUID productId) {
+        // Not cached (stock changes too often), but concurrent identical lookups are coalesced
+        return singleFlight.execute("metronome.inventory", productId, this::requestProductInventory);
+    }
 
-            return response != null ? response.getAvailableQuantity() : null;
-        } catch (Exception e) {
-            // Service unavailable, return null as specified in OpenAPI
-            return null;
-        }
+    private Mono<Integer> requestProductInventory(UUID productId) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "inventory", webClient.get()
+                .uri("/inventory/{productId}", productId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(MetronomeInventoryResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .mapNotNull(MetronomeInventoryResponse::getAvailableQuantity));
+    }
+
+    /**
+     * Batch variant of {@link #fetchProductInventory(UUID)}
+     *
+     * @param productIds the product IDs
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the available quantities by product ID
+     */
+    public Mono<Map<UUID, Integer>> fetchProductInventories(Collection<UUID> productIds, int concurrency) {
+        return batchLookups.collect("inventory", productIds, this::fetchProductInventory, concurrency);
     }
 
     /**
-     * Adds inventory for a new product in METRONOME service
+     * Increases the inventory of a product in METRONOME service
      *
      * @param request the inventory request object
-     * @return true if successful, false if service unavailable or error
+     * @param idempotencyKey sent as Idempotency-Key so that a retried call is applied once (may be null)
+     * @return Mono completing when the inventory is increased, or failing
      */
-    public boolean increaseProductInventory(MetronomeInventoryRequest request) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.post()
-                    .uri("/inventory/add")
-                    .header("Authorization", "Bearer " + token)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public Mono<Void> increaseInventory(MetronomeInventoryRequest request, String idempotencyKey) {
+        return changeInventory("/inventory/add", "increase-inventory", request, idempotencyKey);
     }
 
     /**
-     * Decreases inventory for a product in METRONOME service
+     * Decreases the inventory of a product in METRONOME service
      *
      * @param request the inventory request object
-     * @return true if successful, false if service unavailable or error
+     * @param idempotencyKey sent as Idempotency-Key so that a retried call is applied once (may be null)
+     * @return Mono completing when the inventory is decreased, or failing
      */
-    public boolean decreaseProductInventory(MetronomeInventoryRequest request) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.post()
-                    .uri("/inventory/decrease")
-                    .header("Authorization", "Bearer " + token)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public Mono<Void> decreaseInventory(MetronomeInventoryRequest request, String idempotencyKey) {
+        return changeInventory("/inventory/decrease", "decrease-inventory", request, idempotencyKey);
     }
 
-}
\ No newline at end of file
+    private Mono<Void> changeInventory(String path, String operation, MetronomeInventoryRequest request, String idempotencyKey) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, operation, webClient.post()
+                .uri(path)
+                .header("Authorization", "Bearer " + token)
+                .headers(headers -> idempotencyKey(headers, idempotencyKey))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofSeconds(5)));
+    }
+
+    private static void idempotencyKey(HttpHeaders headers, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+        }
+    }
+}
@@ -1,152 +1,141 @@
 package com.marketplace.catalogue.client;
 
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentSource;
 import com.marketplace.catalogue.config.TokenHolder;
 import com.marketplace.catalogue.dto.Discount;
 import com.marketplace.catalogue.dto.external.OrnamentoDiscountRequest;
 import com.marketplace.catalogue.dto.external.OrnamentoDiscountResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class OrnamentoServiceClient {
+
+    private static final String SERVICE_NAME = "ornamento";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     
     private final WebClient webClient;
     private final TokenHolder tokenHolder;
+    private final EnrichmentCache enrichmentCache;
+    private final DownstreamGuard downstreamGuard;
+    private final SingleFlight singleFlight;
+    private final BatchLookups batchLookups;
     
-    public OrnamentoServiceClient(WebClient ornamentoClient, TokenHolder tokenHolder) {
+    public OrnamentoServiceClient(WebClient ornamentoClient, TokenHolder tokenHolder, EnrichmentCache enrichmentCache, DownstreamGuard downstreamGuard, SingleFlight singleFlight, BatchLookups batchLookups) {
         this.webClient = ornamentoClient;
         this.tokenHolder = tokenHolder;
+        this.enrichmentCache = enrichmentCache;
+        this.downstreamGuard = downstreamGuard;
+        this.singleFlight = singleFlight;
+        this.batchLookups = batchLookups;
     }
     
     /**
-     * Retrieves discount information for a product from ORNAMENTO service
+     * Retrieves the discount of a product from ORNAMENTO service
+     * (read through the enrichment cache)
      * @param productId the product ID
-     * @return Discount object or null if service unavailable or no discount
+     * @return Mono emitting the discount, empty if the product has no discount
      */
-    public Discount getProductDiscount(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            OrnamentoDiscountResponse response = webClient.get()
-                    .uri("/promotions/{productId}", productId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(OrnamentoDiscountResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-                    
-            if (response == null) {
-                return null;
-            }
-            
-            // Map external DTO to internal DTO
-            // Note: discountPrice is not provided by ORNAMENTO, it would need to be calculated
-            return new Discount(
-                    response.getDiscountPercentage(),
-                    null, // discountPrice - would need to be calculated based on base price
-                    response.getStartDate(),
-                    response.getEndDate()
-            );
-        } catch (Exception e) {
-            // Service unavailable, return null as specified in OpenAPI
-            return null;
-        }
+    public Mono<Discount> fetchProductDiscount(UUID productId) {
+        return enrichmentCache.get(EnrichmentSource.DISCOUNT, productId,
+                id -> singleFlight.execute("ornamento.discount", id, this::requestProductDiscount));
+    }
+
+    private Mono<Discount> requestProductDiscount(UUID productId) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "discount", webClient.get()
+                .uri("/promotions/{productId}", productId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(OrnamentoDiscountResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                // Map external DTO to internal DTO
+                // Note: discountPrice is not provided by ORNAMENTO, it would need to be calculated
+                .map(response -> new Discount(
+                        response.getDiscountPercentage(),
+                        null, // discountPrice - would need to be calculated based on base price
+                        response.getStartDate(),
+                        response.getEndDate()
+                )));
     }
 
     /**
-     * Get promotion ID for a product from ORNAMENTO service
-     * @param productId the product ID
-     * @return promotion ID or null if service unavailable or no promotion
+     * Batch variant of {@link #fetchProductDiscount(UUID)}
+     * @param productIds the product IDs
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the discounts by product ID (products without discount are absent)
      */
-    public Long getProductDiscountId(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            OrnamentoDiscountResponse response = webClient.get()
-                    .uri("/promotions/{productId}", productId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(OrnamentoDiscountResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-
-            if (response == null) {
-                return null;
-            }
-
-            return response.getId();
-        } catch (Exception e) {
-            return null;
-        }
+    public Mono<Map<UUID, Discount>> fetchProductDiscounts(Collection<UUID> productIds, int concurrency) {
+        return batchLookups.collect("discount", productIds, this::fetchProductDiscount, concurrency);
     }
 
     /**
-     * Adds a new discount for a new product in ORNAMENTO service
-     * @param request the discount request object
-     * @return true if successful, false if service unavailable or error
+     * Gets the promotion ID of a product from ORNAMENTO service (not cached: used before writing the discount)
+     * @param productId the product ID
+     * @return Mono emitting the promotion ID, empty if the product has no promotion
      */
-
-    public boolean addNewProductDiscount(OrnamentoDiscountRequest request) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.post()
-                    .uri("/promotions")
-                    .header("Authorization", "Bearer " + token)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public Mono<Long> fetchProductDiscountId(UUID productId) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "discount-id", webClient.get()
+                .uri("/promotions/{productId}", productId)
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(OrnamentoDiscountResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .mapNotNull(OrnamentoDiscountResponse::getId));
     }
 
     /**
-     * Updates an existing discount for a product in ORNAMENTO service
-     * @param promotionId the product ID
+     * Adds a discount for a product in ORNAMENTO service
      * @param request the discount request object
-     * @return true if successful, false if service unavailable or error
+     * @param idempotencyKey sent as Idempotency-Key so that a retried call is applied once (may be null)
+     * @return Mono completing when the discount is added, or failing
      */
-    public boolean updateProductDiscount(String promotionId, OrnamentoDiscountRequest request) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.put()
-                    .uri("/promotions/{promotionId}", promotionId)
-                    .header("Authorization", "Bearer " + token)
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+    public Mono<Void> addDiscount(OrnamentoDiscountRequest request, String idempotencyKey) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "add-discount", webClient.post()
+                .uri("/promotions")
+                .header("Authorization", "Bearer " + token)
+                .headers(headers -> idempotencyKey(headers, idempotencyKey))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofSeconds(5)));
     }
 
-
-
     /**
-     * Deletes a discount for a product in ORNAMENTO service
-     * @param promotionId the product ID
-     * @return true if successful, false if service unavailable or error
+     * Updates the discount of a product in ORNAMENTO service
+     * @param promotionId the promotion ID
+     * @param request the discount request object
+     * @param idempotencyKey sent as Idempotency-Key (may be null)
+     * @return Mono completing when the discount is updated, or failing
      */
-    public boolean deleteProductDiscount(String promotionId) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.delete()
-                    .uri("/promotions/{promotionId}", promotionId)
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
+    public Mono<Void> updateDiscount(String promotionId, OrnamentoDiscountRequest request, String idempotencyKey) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "update-discount", webClient.put()
+                .uri("/promotions/{promotionId}", promotionId)
+                .header("Authorization", "Bearer " + token)
+                .headers(headers -> idempotencyKey(headers, idempotencyKey))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofSeconds(5)));
+    }
+
+    private static void idempotencyKey(HttpHeaders headers, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
         }
     }
 }
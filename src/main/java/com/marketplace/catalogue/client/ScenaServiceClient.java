@@ -1,214 +1,238 @@
 package com.marketplace.catalogue.client;
 
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentSource;
 import com.marketplace.catalogue.config.TokenHolder;
 import com.marketplace.catalogue.dto.external.ScenaMediaItemResponse;
 import com.marketplace.catalogue.dto.external.ScenaUploadRequest;
 import com.marketplace.catalogue.dto.external.ScenaUploadResponse;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
 public class ScenaServiceClient {
+
+    private static final String SERVICE_NAME = "scena";
+    private static final String UPLOAD_SERVICE_NAME = "scena-upload";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     
     private final WebClient webClient;
     private final TokenHolder tokenHolder;
+    private final EnrichmentCache enrichmentCache;
+    private final DownstreamGuard downstreamGuard;
+    private final SingleFlight singleFlight;
+    private final BatchLookups batchLookups;
 
-    public ScenaServiceClient(WebClient scenaClient, TokenHolder tokenHolder) {
+    public ScenaServiceClient(WebClient scenaClient, TokenHolder tokenHolder, EnrichmentCache enrichmentCache, DownstreamGuard downstreamGuard, SingleFlight singleFlight, BatchLookups batchLookups) {
         this.webClient = scenaClient;
         this.tokenHolder =  tokenHolder;
+        this.enrichmentCache = enrichmentCache;
+        this.downstreamGuard = downstreamGuard;
+        this.singleFlight = singleFlight;
+        this.batchLookups = batchLookups;
     }
 
 
     /**
-     * Uploads a single media file for a product
-     * @param file the media file
+     * Uploads a media file, streaming its content in chunks.
+     *
+     * Uploads have their own circuit breaker and bulkhead (scena-upload): a large file legitimately
+     * takes longer than the slow-call threshold of the read calls, and must not open their circuit.
+     * @param content the file content, read lazily
+     * @param filename the original file name
+     * @param contentType the media type of the file (may be null)
      * @param productId the product ID
-     * @return ScenaUploadResponse or null if service unavailable
+     * @param isThumbnail whether the file is the product thumbnail
+     * @param timeout time allowed for the whole transfer
+     * @param idempotencyKey sent as Idempotency-Key so that a retried upload is stored once (may be null)
+     * @return Mono emitting the SCENA response
      */
-    public ScenaUploadResponse uploadMediaFile(MultipartFile file, UUID productId, boolean isThumbnail) {
-        try {
-
-            // Create a resource from the file instead of passing the MultipartFile directly
-            ByteArrayResource fileResource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-
-            // Create multipart body for file upload
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", fileResource)
-                    .filename(file.getOriginalFilename())
-                    .contentType(MediaType.parseMediaType(file.getContentType()));
-            builder.part("product_id", productId.toString());
-            builder.part("is_thumbnail", String.valueOf(isThumbnail));
-
-            String token = tokenHolder.getToken();
-
-            // Make API call to SCENA service
-            ScenaUploadResponse response = webClient.post()
-                    .uri("/upload")
-                    .header("Authorization", "Bearer " + token)
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(builder.build()))
-                    .retrieve()
-                    .bodyToMono(ScenaUploadResponse.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-
-            return response;
-        } catch (Exception e) {
-            // Service unavailable, return null
-            return null;
-        }
+    public Mono<ScenaUploadResponse> upload(Resource content, String filename, String contentType, UUID productId,
+                                            boolean isThumbnail, Duration timeout, String idempotencyKey) {
+        // Create multipart body for file upload; the resource is read lazily, chunk by chunk
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        builder.part("file", content)
+                .filename(filename)
+                .contentType(contentType != null
+                        ? MediaType.parseMediaType(contentType)
+                        : MediaType.APPLICATION_OCTET_STREAM);
+        builder.part("product_id", productId.toString());
+        builder.part("is_thumbnail", String.valueOf(isThumbnail));
+
+        String token = tokenHolder.getToken();
+
+        // Make API call to SCENA service
+        return downstreamGuard.protect(UPLOAD_SERVICE_NAME, "upload", webClient.post()
+                .uri("/upload")
+                .header("Authorization", "Bearer " + token)
+                .headers(headers -> idempotencyKey(headers, idempotencyKey))
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(builder.build()))
+                .retrieve()
+                .bodyToMono(ScenaUploadResponse.class)
+                .timeout(timeout));
     }
 
     /**
-     * Gets the thumbnail URL for a product
+     * Gets the thumbnail URL of a product
+     * (read through the enrichment cache)
      * @param productId the product ID
-     * @return thumbnail URL or null if service unavailable or no thumbnail
+     * @return Mono emitting the thumbnail URL, empty if the product has no thumbnail
      */
-    public String getThumbnailUrl(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-
-            // Make API call to SCENA service
-            ScenaMediaItemResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/thumbnail")
-                            .queryParam("id_product", productId)
-                            .build())
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(ScenaMediaItemResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-                    
-            return response != null ? response.getFileUrl() : null;
-        } catch (Exception e) {
-            // Service unavailable, return null
-            return null;
-        }
+    public Mono<String> fetchThumbnailUrl(UUID productId) {
+        return enrichmentCache.get(EnrichmentSource.THUMBNAIL, productId,
+                id -> singleFlight.execute("scena.thumbnail", id, this::requestThumbnailUrl));
+    }
+
+    private Mono<String> requestThumbnailUrl(UUID productId) {
+        String token = tokenHolder.getToken();
+
+        // Make API call to SCENA service
+        return downstreamGuard.protect(SERVICE_NAME, "thumbnail", webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/thumbnail")
+                        .queryParam("id_product", productId)
+                        .build())
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(ScenaMediaItemResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .mapNotNull(ScenaMediaItemResponse::getFileUrl));
     }
 
     /**
-     * Get Thumbnail ID for a product
-     * @param productId the product ID
-     * @return thumbnail ID or null if service unavailable or no thumbnail
+     * Batch variant of {@link #fetchThumbnailUrl(UUID)}
+     * @param productIds the product IDs
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the thumbnail URLs by product ID (products without thumbnail are absent)
      */
-
-    public String getThumbnailId(UUID productId) {
-        try {
-            // Make API call to SCENA service
-            ScenaMediaItemResponse response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/thumbnail")
-                            .queryParam("id_product", productId)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(ScenaMediaItemResponse.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-
-            return response != null ? response.getId() : null;
-        } catch (Exception e) {
-            // Service unavailable, return null
-            return null;
-        }
+    public Mono<Map<UUID, String>> fetchThumbnailUrls(Collection<UUID> productIds, int concurrency) {
+        return batchLookups.collect("thumbnail", productIds, this::fetchThumbnailUrl, concurrency);
     }
 
     /**
-     * Retrieves all media URLs for a product (excluding thumbnail)
+     * Gets the thumbnail ID of a product (not cached: used before replacing the thumbnail)
      * @param productId the product ID
-     * @return list of media URLs or null if service unavailable
+     * @return Mono emitting the thumbnail ID, empty if the product has no thumbnail
      */
-    public List<String> getProductMediaUrls(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            // Make API call to SCENA service
-            List<ScenaMediaItemResponse> response = webClient.get()
-                    .uri((uriBuilder -> uriBuilder
-                            .path("/media")
-                            .queryParam("id_product", productId)
-                            .build()))
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<List<ScenaMediaItemResponse>>() {})
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-                    
-            return response != null ? response.stream()
-                    .map(ScenaMediaItemResponse::getFileUrl)
-                    .toList() : null;
-        } catch (Exception e) {
-            // Service unavailable, return null
-            return null;
-        }
+    public Mono<String> fetchThumbnailId(UUID productId) {
+        String token = tokenHolder.getToken();
+
+        // Make API call to SCENA service
+        return downstreamGuard.protect(SERVICE_NAME, "thumbnail-id", webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/thumbnail")
+                        .queryParam("id_product", productId)
+                        .build())
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(ScenaMediaItemResponse.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .mapNotNull(ScenaMediaItemResponse::getId));
     }
 
     /**
-     * Retrieves all media Ids for a product
+     * Retrieves all media URLs of a product (excluding thumbnail)
+     * (read through the enrichment cache)
      * @param productId the product ID
-     * @return list of media URLs or null if service unavailable
+     * @return Mono emitting the list of media URLs
      */
-    public List<String> getProductMediaIds(UUID productId) {
-        try {
-            String token = tokenHolder.getToken();
-            // Make API call to SCENA service
-            List<ScenaMediaItemResponse> response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/media")
-                            .queryParam("id_product", productId)
-                            .build())
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<List<ScenaMediaItemResponse>>() {})
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-
-            return response != null ? response.stream()
-                    .map(ScenaMediaItemResponse::getId)
-                    .toList() : null;
-        } catch (Exception e) {
-            // Service unavailable, return null
-            return null;
-        }
+    public Mono<List<String>> fetchProductMediaUrls(UUID productId) {
+        return enrichmentCache.get(EnrichmentSource.MEDIA, productId,
+                id -> singleFlight.execute("scena.media", id, this::requestProductMediaUrls));
     }
 
+    private Mono<List<String>> requestProductMediaUrls(UUID productId) {
+        String token = tokenHolder.getToken();
+
+        // Make API call to SCENA service
+        return downstreamGuard.protect(SERVICE_NAME, "media", webClient.get()
+                .uri((uriBuilder -> uriBuilder
+                        .path("/media")
+                        .queryParam("id_product", productId)
+                        .build()))
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<ScenaMediaItemResponse>>() {})
+                .timeout(Duration.ofSeconds(10))
+                .map(response -> response.stream()
+                        .map(ScenaMediaItemResponse::getFileUrl)
+                        .toList()));
+    }
 
+    /**
+     * Batch variant of {@link #fetchProductMediaUrls(UUID)}
+     * @param productIds the product IDs
+     * @param concurrency maximum number of calls in flight
+     * @return Mono emitting the media URLs by product ID
+     */
+    public Mono<Map<UUID, List<String>>> fetchProductMediaUrls(Collection<UUID> productIds, int concurrency) {
+        return batchLookups.collect("media", productIds, this::fetchProductMediaUrls, concurrency);
+    }
+
+    /**
+     * Retrieves all media IDs of a product (not cached: used before replacing the media)
+     * @param productId the product ID
+     * @return Mono emitting the media IDs
+     */
+    public Mono<List<String>> fetchProductMediaIds(UUID productId) {
+        String token = tokenHolder.getToken();
+        // Make API call to SCENA service
+        return downstreamGuard.protect(SERVICE_NAME, "media-ids", webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/media")
+                        .queryParam("id_product", productId)
+                        .build())
+                .header("Authorization", "Bearer " + token)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<ScenaMediaItemResponse>>() {})
+                .timeout(Duration.ofSeconds(10))
+                .map(response -> response.stream()
+                        .map(ScenaMediaItemResponse::getId)
+                        .toList()));
+    }
 
     /**
-     * Deletes the thumbnail for a product
-     * @param mediaId
-     * @return true if successful, false if service unavailable or error
+     * Deletes a media file (thumbnail or not). A media that no longer exists counts
+     * as deleted, so that a retried deletion succeeds.
+     * @param mediaId the media ID
+     * @param idempotencyKey sent as Idempotency-Key (may be null)
+     * @return Mono completing when the media is deleted, or failing
      */
-    public boolean deleteMedia(String mediaId) {
-        try {
-            String token = tokenHolder.getToken();
-            webClient.delete()
-                    .uri((uriBuilder -> uriBuilder
-                            .path("/media")
-                            .queryParam("id_media", mediaId)
-                            .build()))
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(Void.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-            return true;
-        } catch (Exception e) {
-            return false;
+    public Mono<Void> removeMedia(String mediaId, String idempotencyKey) {
+        String token = tokenHolder.getToken();
+        return downstreamGuard.protect(SERVICE_NAME, "delete-media", webClient.delete()
+                .uri((uriBuilder -> uriBuilder
+                        .path("/media")
+                        .queryParam("id_media", mediaId)
+                        .build()))
+                .header("Authorization", "Bearer " + token)
+                .headers(headers -> idempotencyKey(headers, idempotencyKey))
+                .retrieve()
+                .bodyToMono(Void.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    private static void idempotencyKey(HttpHeaders headers, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            headers.set(IDEMPOTENCY_KEY, idempotencyKey);
         }
     }
 }
@@ -0,0 +1,81 @@
+package com.marketplace.catalogue.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent identical downstream lookups: while a call for an (operation, productId)
+ * pair is in flight, other callers asking for the same pair share its result instead of sending
+ * their own request. Nothing is kept once the call completes (caching is the EnrichmentCache's job).
+ *
+ * Coalesced calls are counted by the downstream.single-flight.coalesced counter, tagged by operation.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param operation the lookup name, e.g. "scena.thumbnail"
+     * @param productId the product ID
+     * @param call the downstream call, only invoked if no identical call is in flight
+     * @return Mono emitting the shared result; the call is looked up or started on subscription
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String operation, UUID productId, Function<UUID, Mono<T>> call) {
+        return Mono.defer(() -> {
+            Key key = new Key(operation, productId);
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, result);
+            if (existing != null) {
+                coalescedCounter(operation).increment();
+                return Mono.fromFuture(existing, true).map(value -> (T) value);
+            }
+
+            // The call is started on the subscribing thread, so it sees the caller's request token, and its
+            // trace context is captured so the HTTP client span joins the caller's trace.
+            // It is removed before completing, so callers arriving afterwards start a new call.
+            try {
+                call.apply(productId).contextCapture().toFuture().whenComplete((value, error) -> {
+                    inFlight.remove(key, result);
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Failed before sending anything: the waiting callers get the error, the next ones retry
+                inFlight.remove(key, result);
+                result.completeExceptionally(e);
+            }
+
+            // Keep the call going even if this caller gives up: the others may still be waiting for it
+            return Mono.fromFuture(result, true).map(value -> (T) value);
+        });
+    }
+
+    private Counter coalescedCounter(String operation) {
+        return coalescedCounters.computeIfAbsent(operation, name -> Counter.builder("downstream.single-flight.coalesced")
+                .description("Downstream calls answered by an identical call already in flight")
+                .tag("operation", name)
+                .register(meterRegistry));
+    }
+
+    private record Key(String operation, UUID productId) {
+    }
+}
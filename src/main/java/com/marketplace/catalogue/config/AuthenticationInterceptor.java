@@ -1,7 +1,7 @@
 package com.marketplace.catalogue.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.marketplace.catalogue.client.AriaServiceClient;
+import com.marketplace.catalogue.cache.TokenValidationCache;
 import com.marketplace.catalogue.dto.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,13 +13,13 @@ import org.springframework.web.servlet.HandlerInterceptor;
 @Component
 public class AuthenticationInterceptor implements HandlerInterceptor {
     
-    private final AriaServiceClient ariaServiceClient;
+    private final TokenValidationCache tokenValidationCache;
     private final ObjectMapper objectMapper;
     private final TokenHolder tokenHolder;
 
 
-    public AuthenticationInterceptor(AriaServiceClient ariaServiceClient, ObjectMapper objectMapper, TokenHolder tokenHolder) {
-        this.ariaServiceClient = ariaServiceClient;
+    public AuthenticationInterceptor(TokenValidationCache tokenValidationCache, ObjectMapper objectMapper, TokenHolder tokenHolder) {
+        this.tokenValidationCache = tokenValidationCache;
         this.objectMapper = objectMapper;
         this.tokenHolder = tokenHolder;
     }
@@ -48,8 +48,8 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
         
         String token = authHeader.substring(7); // Remove "Bearer " prefix
         
-        // Validate token with ARIA service
-        boolean isValid = ariaServiceClient.validateToken(token);
+        // Validate token with ARIA service (answers are cached locally)
+        boolean isValid = tokenValidationCache.isValid(token);
         if (!isValid) {
             sendErrorResponse(response, ApiResponse.unauthorized("Token invalide ou expiré"));
             return false;
@@ -60,6 +60,12 @@ public class AuthenticationInterceptor implements HandlerInterceptor {
 
         return true;
     }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // Don't let the token leak to the next request handled by this thread (GET requests never set it)
+        tokenHolder.clear();
+    }
     
     private void sendErrorResponse(HttpServletResponse response, ApiResponse<Void> apiResponse) throws Exception {
         response.setStatus(apiResponse.getStatus());
@@ -0,0 +1,54 @@
+package com.marketplace.catalogue.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compact binary encodings of the JSON responses, chosen with the Accept header:
+ * application/cbor or application/x-jackson-smile. The payload has the same structure as the JSON
+ * one and is written with the same Jackson settings (spring.jackson.*); JSON stays the default.
+ * Meant for the internal services reading full product listings.
+ */
+@Configuration
+public class BinaryEncodingConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public BinaryEncodingConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * Spring MVC already registers CBOR and Smile converters (with default Jackson settings), and
+     * Spring Boot lists its JSON converter in front of the default one: each Jackson converter is kept
+     * once, and the CBOR and Smile ones are replaced in place by converters using the configured mapper
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        Set<Class<?>> jacksonConverters = new HashSet<>();
+        converters.removeIf(converter -> converter instanceof AbstractJackson2HttpMessageConverter
+                && !jacksonConverters.add(converter.getClass()));
+        converters.replaceAll(converter -> {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                return new MappingJackson2CborHttpMessageConverter(
+                        objectMapperBuilder.factory(new CBORFactory()).build());
+            }
+            if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                return new MappingJackson2SmileHttpMessageConverter(
+                        objectMapperBuilder.factory(new SmileFactory()).build());
+            }
+            return converter;
+        });
+    }
+}
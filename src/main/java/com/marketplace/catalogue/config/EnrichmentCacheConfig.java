@@ -0,0 +1,25 @@
+package com.marketplace.catalogue.config;
+
+import com.marketplace.catalogue.cache.CaffeineEnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.PassThroughEnrichmentCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EnrichmentCacheConfig {
+
+    /**
+     * Default cache implementation; declare another EnrichmentCache bean to replace it
+     */
+    @Bean
+    @ConditionalOnMissingBean(EnrichmentCache.class)
+    public EnrichmentCache enrichmentCache(EnrichmentCacheProperties properties, MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return new PassThroughEnrichmentCache();
+        }
+        return new CaffeineEnrichmentCache(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.marketplace.catalogue.config;
+
+import com.marketplace.catalogue.cache.EnrichmentSource;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings of the cache in front of the enrichment calls, per downstream source
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.enrichment.cache")
+public class EnrichmentCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Settings per source. Sources without settings are not cached.
+     */
+    private Map<EnrichmentSource, Source> sources = new EnumMap<>(EnrichmentSource.class);
+
+    @Data
+    public static class Source {
+
+        /**
+         * Maximum number of products kept for this source.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * How long a value is kept.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * Age after which a value is still served but refreshed in the background.
+         * Must be shorter than the TTL to have an effect.
+         */
+        private Duration refreshAfter = Duration.ofMinutes(5);
+
+        /**
+         * How long a "no data" answer is kept. Zero disables negative caching.
+         */
+        private Duration negativeTtl = Duration.ofMinutes(1);
+    }
+}
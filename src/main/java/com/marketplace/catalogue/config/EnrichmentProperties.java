@@ -0,0 +1,31 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the product enrichment fan-out (SCENA, METRONOME, ORNAMENTO and ECHO calls)
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.enrichment")
+public class EnrichmentProperties {
+
+    /**
+     * Time allowed for all downstream calls of a single product. Sources that have not
+     * answered when the budget runs out are returned as null.
+     */
+    private Duration latencyBudget = Duration.ofSeconds(3);
+
+    /**
+     * Maximum number of concurrent calls per downstream lookup when enriching a list of products.
+     */
+    private int batchConcurrency = 16;
+
+    /**
+     * Number of products enriched together when streaming a listing. Each chunk is written
+     * as soon as it is enriched, so this bounds both memory use and time to first product.
+     */
+    private int streamChunkSize = 50;
+}
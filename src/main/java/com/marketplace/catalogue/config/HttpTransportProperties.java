@@ -0,0 +1,85 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HTTP transport settings of the downstream service clients (aria, metronome, scena, echo, ornamento)
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.http")
+public class HttpTransportProperties {
+
+    /**
+     * Number of event loop threads dedicated to the downstream clients.
+     * Zero keeps the event loop shared with the rest of Reactor Netty.
+     */
+    private int eventLoopThreads = 0;
+
+    /**
+     * Transport profile per service, keyed by service name
+     */
+    private Map<String, Service> services = new HashMap<>();
+
+    @Data
+    public static class Service {
+
+        private String baseUrl;
+
+        /**
+         * Maximum number of open connections to the service.
+         */
+        private int maxConnections = 50;
+
+        /**
+         * Maximum number of requests waiting for a connection; -1 for no limit.
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        /**
+         * Maximum time a request waits for a connection.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Idle connections are closed after this time.
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * Connections are closed after this time, even if active, to follow DNS and load balancer changes.
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * Interval of the background eviction of idle and expired connections.
+         */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Maximum time between the request being sent and the response headers being received.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Negotiate HTTP/2 (falls back to HTTP/1.1 if the service does not support it).
+         */
+        private boolean http2 = false;
+
+        /**
+         * Ask for gzip-compressed responses.
+         */
+        private boolean compression = true;
+
+        /**
+         * Enable TCP keep-alive probes on the connections.
+         */
+        private boolean keepAlive = true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.marketplace.catalogue.config;
+
+import com.marketplace.catalogue.cache.InvalidationBus;
+import com.marketplace.catalogue.cache.LocalInvalidationBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InvalidationBusConfig {
+
+    /**
+     * Default bus, limited to this JVM; declare another InvalidationBus bean to reach the other replicas
+     */
+    @Bean
+    @ConditionalOnMissingBean(InvalidationBus.class)
+    public InvalidationBus invalidationBus() {
+        return new LocalInvalidationBus();
+    }
+}
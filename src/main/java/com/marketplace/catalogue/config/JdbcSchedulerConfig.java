@@ -0,0 +1,29 @@
+package com.marketplace.catalogue.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class JdbcSchedulerConfig {
+
+    // Default maximum pool size of Hikari
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Scheduler the reactive read path runs its JPA queries on. It has as many threads as the
+     * connection pool has connections, so blocking queries never wait on a connection while
+     * holding a thread, and never run on Reactor Netty event loops.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(ReactiveProperties properties, DataSource dataSource) {
+        int threads = properties.getJdbcThreads() != null
+                ? properties.getJdbcThreads()
+                : dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        return Schedulers.newBoundedElastic(threads, properties.getJdbcQueueSize(), "jdbc");
+    }
+}
@@ -0,0 +1,24 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the media transfers to SCENA when a product is created or updated
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.media")
+public class MediaTransferProperties {
+
+    /**
+     * Maximum number of uploads (or deletions) in flight for one product.
+     */
+    private int concurrency = 4;
+
+    /**
+     * Time allowed for the transfer of a single file.
+     */
+    private Duration uploadTimeout = Duration.ofSeconds(60);
+}
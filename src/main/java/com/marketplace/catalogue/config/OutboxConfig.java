@@ -0,0 +1,25 @@
+package com.marketplace.catalogue.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+    /**
+     * Threads the outbox messages are sent on. Each message runs on one of them with the service token
+     * in the TokenHolder, as the service clients read it when building their requests.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor(OutboxProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.setThreadNamePrefix("outbox-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,67 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the outbox of product writes: how the inventory, discount and media changes recorded
+ * with the products are sent to METRONOME, ORNAMENTO and SCENA
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether this node sends the outbox messages. Messages are still written when disabled,
+     * and sent by the nodes where it is enabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay between two polls of the outbox table (also set the scheduling of the dispatcher).
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Maximum number of messages claimed by one poll.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Number of messages sent at the same time, which is also the most messages claimed by the node
+     * and not sent yet.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Attempts after which a message is given up (left with status failed).
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay before the first retry, doubled at each attempt up to the maximum backoff.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * Time a claimed message is reserved to its dispatcher. A message whose dispatcher stopped
+     * is claimed again after it, so it must exceed the time of the slowest message (media uploads).
+     */
+    private Duration lease = Duration.ofMinutes(5);
+
+    /**
+     * Time after which the staged media files of a write that was not committed are deleted (also set
+     * the scheduling of their purge). It must exceed the time of the slowest write request.
+     */
+    private Duration stagingRetention = Duration.ofHours(1);
+
+    /**
+     * Token used for the downstream calls of the dispatcher, required when enabled: the token of the
+     * user who made a change may expire before the message is sent, and is never kept.
+     */
+    private String serviceToken;
+}
@@ -0,0 +1,29 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the bulk product import (POST /products/import)
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.import")
+public class ProductImportProperties {
+
+    /**
+     * Number of rows saved per transaction. Each chunk is inserted with JDBC batches
+     * (hibernate.jdbc.batch_size) and committed before the next one is read.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of rows of one import; the following rows are rejected.
+     */
+    private int maxRows = 100_000;
+
+    /**
+     * Number of saved chunks whose inventory and discount are being sent while the next chunks are
+     * read and saved. Bounds the work in flight; the calls themselves are bounded by the outbox concurrency.
+     */
+    private int chunksInFlight = 2;
+}
@@ -0,0 +1,23 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the reactive read path (/reactive/products)
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.reactive")
+public class ReactiveProperties {
+
+    /**
+     * Threads running the JPA queries. Defaults to the size of the connection pool, so that a
+     * query never waits for a connection while holding a thread.
+     */
+    private Integer jdbcThreads;
+
+    /**
+     * Queries waiting for a thread before new ones are rejected.
+     */
+    private int jdbcQueueSize = 1000;
+}
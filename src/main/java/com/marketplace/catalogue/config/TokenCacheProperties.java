@@ -0,0 +1,35 @@
+package com.marketplace.catalogue.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the local cache of ARIA token validations
+ */
+@Data
+@ConfigurationProperties(prefix = "catalogue.auth.token-cache")
+public class TokenCacheProperties {
+
+    /**
+     * When disabled, every authenticated request is validated against ARIA.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of tokens kept in the cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an accepted token is trusted without asking ARIA again.
+     * Shortened to the token's `exp` claim when it expires earlier.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * How long a rejected token is remembered as invalid. Zero disables negative caching.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+}
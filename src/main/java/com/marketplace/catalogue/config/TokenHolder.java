@@ -2,6 +2,12 @@ package com.marketplace.catalogue.config;
 
 import org.springframework.stereotype.Component;
 
+/**
+ * Holds the bearer token of the request being handled by the current thread.
+ * The token must be read on the request thread (the service clients read it when building
+ * their requests, before switching to Reactor Netty threads). It is cleared once the request
+ * completes, so pooled threads never carry a token over to the next request.
+ */
 @Component
 public class TokenHolder {
     private static final ThreadLocal<String> currentToken = new ThreadLocal<>();
@@ -1,8 +1,18 @@
 package com.marketplace.catalogue.config;
 
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class WebClientConfig {
@@ -10,41 +20,90 @@ public class WebClientConfig {
      * It matches the name of the function with the name of parameter passed to the constructor
      * of each service client. This is a convention used in Spring to automatically inject
      * the correct WebClient instance into each service client.
+     *
+     * Each client gets its own connection pool, sized and timed out from the
+     * catalogue.http.services.<name>.* properties. Pool metrics (active, idle and pending
+     * connections, acquire time) are published as reactor.netty.connection.provider.* meters.
      */
 
+    private final WebClient.Builder webClientBuilder;
+    private final HttpTransportProperties properties;
+    private final LoopResources loopResources;
+    private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+    public WebClientConfig(WebClient.Builder webClientBuilder, HttpTransportProperties properties) {
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+        this.loopResources = properties.getEventLoopThreads() > 0
+                ? LoopResources.create("catalogue-http", properties.getEventLoopThreads(), true)
+                : null;
+    }
 
     @Bean
     public WebClient ariaClient() { // Auth service
-        return WebClient.builder()
-                .baseUrl("https://aria-team-collaboration-2.onrender.com")
-                .build();
+        return buildClient("aria");
     }
 
     @Bean
     public WebClient metronomeClient() { // Stock service
-        return WebClient.builder()
-                .baseUrl("https://microservice-metronome-production.up.railway.app")
-                .build();
+        return buildClient("metronome");
     }
 
     @Bean
     public WebClient scenaClient() { // Media service
-        return WebClient.builder()
-                .baseUrl("https://scena-service-lazycode12-lazycode12s-projects.vercel.app")
-                .build();
+        return buildClient("scena");
     }
 
     @Bean
     public WebClient echoClient() { // Reviews service
-        return WebClient.builder()
-                .baseUrl("http://echo-service")
-                .build();
+        return buildClient("echo");
     }
 
     @Bean
     public WebClient ornamentoClient() { // Promotions service
-        return WebClient.builder()
-                .baseUrl("https://ornamento-api-tjvp.vercel.app")
+        return buildClient("ornamento");
+    }
+
+    @PreDestroy
+    public void releaseResources() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
+    }
+
+    private WebClient buildClient(String serviceName) {
+        HttpTransportProperties.Service service = properties.getServices().get(serviceName);
+        if (service == null || service.getBaseUrl() == null) {
+            throw new IllegalStateException("Missing property catalogue.http.services." + serviceName + ".base-url");
+        }
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(serviceName)
+                .maxConnections(service.getMaxConnections())
+                .pendingAcquireMaxCount(service.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(service.getPendingAcquireTimeout())
+                .maxIdleTime(service.getMaxIdleTime())
+                .maxLifeTime(service.getMaxLifeTime())
+                .evictInBackground(service.getEvictionInterval())
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) service.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, service.isKeepAlive())
+                .responseTimeout(service.getResponseTimeout())
+                .compress(service.isCompression())
+                .protocol(service.isHttp2()
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11});
+        if (loopResources != null) {
+            httpClient = httpClient.runOn(loopResources);
+        }
+
+        return webClientBuilder.clone()
+                .baseUrl(service.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
@@ -1,17 +1,28 @@
 package com.marketplace.catalogue.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.marketplace.catalogue.dto.ApiResponse;
+import com.marketplace.catalogue.dto.PageResponse;
+import com.marketplace.catalogue.dto.ProductBulkResult;
+import com.marketplace.catalogue.dto.ProductBulkUpdate;
 import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductImportReport;
 import com.marketplace.catalogue.dto.ProductInput;
 import com.marketplace.catalogue.dto.ProductMeta;
 import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.service.ProductImportService;
 import com.marketplace.catalogue.service.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,10 +30,23 @@ import java.util.UUID;
 @RequestMapping("/products")
 public class ProductController {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_IDS = 1000;
+
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService,
+                             ProductImportService productImportService,
+                             ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -40,12 +64,31 @@ public class ProductController {
     }
 
     /**
-     * Get list of products with complete details
+     * Create products in bulk from a CSV (with a header line), newline-delimited JSON or JSON array upload.
+     * The upload is read as it arrives; invalid rows are reported and skipped. Content that cannot be
+     * parsed stops the import, with the report of the rows read before it.
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ApiResponse<ProductImportReport>> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream content) throws IOException {
+        ProductImportReport report = productImportService.importProducts(content, contentType);
+        return ResponseEntity.ok(ApiResponse.ok(String.format("%s: %d produit(s) créé(s), %d ligne(s) rejetée(s), %d en échec",
+                report.getError() != null ? "Import interrompu (contenu illisible)" : "Import terminé",
+                report.getCreated(), report.getRejected(), report.getFailed()), report));
+    }
+
+    /**
+     * Get list of products with complete details.
+     * Paginated when page, size or cursor is given, full catalogue otherwise.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ProductDetails>>> listProductsFull(
+    public ResponseEntity<ApiResponse<?>> listProductsFull(
             @RequestParam(required = false) String categoryId,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
         
         UUID categoryUuid = null;
         ProductStatus productStatus = null;
@@ -57,23 +100,77 @@ public class ProductController {
             if (status != null && !status.trim().isEmpty()) {
                 productStatus = ProductStatus.valueOf(status.toLowerCase());
             }
+            validatePagination(page, size);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest("Paramètres invalides: " + e.getMessage()));
         }
+
+        if (isPaginated(page, size, cursor)) {
+            PageResponse<ProductDetails> products = productService.getProductDetailsPage(
+                    categoryUuid, productStatus, page, pageSize(size), cursor);
+            return ProductETags.ok(products)
+                    .body(ApiResponse.ok("Liste des produits récupérée avec succès", products));
+        }
         
         List<ProductDetails> products = productService.getAllProductDetails(categoryUuid, productStatus);
-        return ResponseEntity.ok(ApiResponse.ok("Liste des produits récupérée avec succès", products));
+        return ProductETags.ok(products)
+                .body(ApiResponse.ok("Liste des produits récupérée avec succès", products));
     }
 
     /**
-     * Get complete details of a specific product
+     * Stream the products with complete details as newline-delimited JSON (Accept: application/x-ndjson).
+     * Each product is written as soon as it has been enriched.
+     */
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProductsFull(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String status) {
+
+        UUID categoryUuid = null;
+        ProductStatus productStatus = null;
+
+        try {
+            if (categoryId != null && !categoryId.trim().isEmpty()) {
+                categoryUuid = UUID.fromString(categoryId);
+            }
+            if (status != null && !status.trim().isEmpty()) {
+                productStatus = ProductStatus.valueOf(status.toLowerCase());
+            }
+        } catch (IllegalArgumentException e) {
+            ApiResponse<Void> error = ApiResponse.badRequest("Paramètres invalides: " + e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> outputStream.write(objectMapper.writeValueAsBytes(error)));
+        }
+
+        UUID filterCategory = categoryUuid;
+        ProductStatus filterStatus = productStatus;
+        StreamingResponseBody body = outputStream ->
+                productService.streamProductDetails(filterCategory, filterStatus, productDetails -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(productDetails));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Get complete details of a specific product.
+     * Answers 304 Not Modified when If-None-Match matches the product.
      */
     @GetMapping("/{productId}")
     public ResponseEntity<ApiResponse<ProductDetails>> getProductDetailsById(@PathVariable UUID productId) {
         ProductDetails productDetails = productService.getProductDetails(productId);
         if (productDetails != null) {
-            return ResponseEntity.ok(ApiResponse.ok("Détails du produit récupérés avec succès", productDetails));
+            return ProductETags.ok(productDetails)
+                    .body(ApiResponse.ok("Détails du produit récupérés avec succès", productDetails));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.notFound("Produit non trouvé avec l'ID: " + productId));
@@ -115,12 +212,61 @@ public class ProductController {
     }
 
     /**
-     * Get list of products (metadata only)
+     * Update a set of products (given by ID, or matching a category and/or status) in one go
      */
-    @GetMapping("/meta")
-    public ResponseEntity<ApiResponse<List<ProductMeta>>> listProductsMeta(
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<ProductBulkResult>> updateProducts(@RequestBody @Valid ProductBulkUpdate update) {
+        ProductBulkResult result = productService.updateProducts(update);
+        return ResponseEntity.ok(ApiResponse.ok(result.getAffected() + " produit(s) mis à jour", result));
+    }
+
+    /**
+     * Delete a set of products, given by ID or matching a category and/or status
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<ProductBulkResult>> deleteProducts(
+            @RequestParam(required = false) List<UUID> ids,
             @RequestParam(required = false) String categoryId,
             @RequestParam(required = false) String status) {
+
+        UUID categoryUuid = null;
+        ProductStatus productStatus = null;
+
+        try {
+            if (categoryId != null && !categoryId.trim().isEmpty()) {
+                categoryUuid = UUID.fromString(categoryId);
+            }
+            if (status != null && !status.trim().isEmpty()) {
+                productStatus = ProductStatus.valueOf(status.toLowerCase());
+            }
+            boolean byId = ids != null && !ids.isEmpty();
+            if (byId == (categoryUuid != null || productStatus != null)) {
+                throw new IllegalArgumentException("ids, ou categoryId et/ou status, sont requis");
+            }
+            if (byId && ids.size() > MAX_BULK_IDS) {
+                throw new IllegalArgumentException("ids ne doit pas dépasser " + MAX_BULK_IDS + " produits");
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("Paramètres invalides: " + e.getMessage()));
+        }
+
+        ProductBulkResult result = productService.deleteProducts(ids, categoryUuid, productStatus);
+        return ResponseEntity.ok(ApiResponse.ok(result.getAffected() + " produit(s) supprimé(s)", result));
+    }
+
+    /**
+     * Get list of products (metadata only).
+     * Paginated when page, size or cursor is given, full catalogue otherwise.
+     */
+    @GetMapping("/meta")
+    public ResponseEntity<ApiResponse<?>> listProductsMeta(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeDescription) {
         
         UUID categoryUuid = null;
         ProductStatus productStatus = null;
@@ -132,26 +278,54 @@ public class ProductController {
             if (status != null && !status.trim().isEmpty()) {
                 productStatus = ProductStatus.valueOf(status.toLowerCase());
             }
+            validatePagination(page, size);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResponse.badRequest("Paramètres invalides: " + e.getMessage()));
         }
+
+        if (isPaginated(page, size, cursor)) {
+            PageResponse<ProductMeta> products = productService.getProductMetaPage(
+                    categoryUuid, productStatus, page, pageSize(size), cursor, includeDescription);
+            return ProductETags.ok(products)
+                    .body(ApiResponse.ok("Métadonnées des produits récupérées avec succès", products));
+        }
         
-        List<ProductMeta> products = productService.getAllProductMeta(categoryUuid, productStatus);
-        return ResponseEntity.ok(ApiResponse.ok("Métadonnées des produits récupérées avec succès", products));
+        List<ProductMeta> products = productService.getAllProductMeta(categoryUuid, productStatus, includeDescription);
+        return ProductETags.ok(products)
+                .body(ApiResponse.ok("Métadonnées des produits récupérées avec succès", products));
     }
 
     /**
-     * Get metadata of a specific product
+     * Get metadata of a specific product.
+     * Answers 304 Not Modified when If-None-Match matches the product.
      */
     @GetMapping("/meta/{productId}")
     public ResponseEntity<ApiResponse<ProductMeta>> getProductMetaById(@PathVariable UUID productId) {
         ProductMeta productMeta = productService.getProductMeta(productId);
         if (productMeta != null) {
-            return ResponseEntity.ok(ApiResponse.ok("Métadonnées du produit récupérées avec succès", productMeta));
+            return ProductETags.ok(productMeta)
+                    .body(ApiResponse.ok("Métadonnées du produit récupérées avec succès", productMeta));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.notFound("Produit non trouvé avec l'ID: " + productId));
         }
     }
+
+    private static boolean isPaginated(Integer page, Integer size, String cursor) {
+        return page != null || size != null || cursor != null;
+    }
+
+    private static int pageSize(Integer size) {
+        return size != null ? size : DEFAULT_PAGE_SIZE;
+    }
+
+    private static void validatePagination(Integer page, Integer size) {
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("page doit être positif ou nul");
+        }
+        if (size != null && (size < 1 || size > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException("size doit être compris entre 1 et " + MAX_PAGE_SIZE);
+        }
+    }
 }
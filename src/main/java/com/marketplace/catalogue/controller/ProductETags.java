@@ -0,0 +1,118 @@
+package com.marketplace.catalogue.controller;
+
+import com.marketplace.catalogue.dto.PageResponse;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductMeta;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Validators of the product representations, for conditional GETs.
+ *
+ * The ETag of a product combines its row version (updatedAt) with a fingerprint of the data that does
+ * not live in the products table (category name and downstream enrichment), so it changes when either
+ * does; a list's ETag combines the tags of its products and the paging state. ETags are weak, as the
+ * same product may be sent in several encodings.
+ *
+ * No Last-Modified is sent: the products table only dates the row, while inventory, discount, media and
+ * reviews change in the downstream services, which expose no modification date. For the same reason the
+ * tag can only be computed once the product is enriched: a 304 Not Modified saves the response body, while
+ * the enrichment cache is what spares the downstream calls. When If-None-Match matches, Spring turns the
+ * response into a 304 without a body; the responses are marked no-cache so that caches (browsers, CDN)
+ * revalidate them, and vary by Accept as they can be encoded in JSON, CBOR or Smile.
+ */
+final class ProductETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ProductETags() {
+    }
+
+    /**
+     * @return a 200 response carrying the ETag of the product
+     */
+    static ResponseEntity.BodyBuilder ok(ProductMeta product) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(weak(Long.toHexString(version(product.getUpdatedAt())) + "-" + Long.toHexString(fingerprint(product))));
+    }
+
+    /**
+     * @return a 200 response carrying the ETag of the list
+     */
+    static ResponseEntity.BodyBuilder ok(Collection<? extends ProductMeta> products) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(weak(Long.toHexString(listFingerprint(FNV_OFFSET_BASIS, products))));
+    }
+
+    /**
+     * @return a 200 response carrying the ETag of the page
+     */
+    static ResponseEntity.BodyBuilder ok(PageResponse<? extends ProductMeta> page) {
+        long hash = listFingerprint(FNV_OFFSET_BASIS, page.getItems());
+        hash = mix(hash, Objects.hash(page.getPage(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages(), page.isHasNext(), page.getNextCursor()));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(weak(Long.toHexString(hash)));
+    }
+
+    private static long listFingerprint(long hash, Collection<? extends ProductMeta> products) {
+        hash = mix(hash, products.size());
+        for (ProductMeta product : products) {
+            hash = mix(hash, Objects.hashCode(product.getId()));
+            hash = mix(hash, version(product.getUpdatedAt()));
+            hash = mix(hash, fingerprint(product));
+        }
+        return hash;
+    }
+
+    /**
+     * Fingerprint of the fields that can change without the product row being updated, plus the
+     * description, which listings can leave out (a different representation of the same rows)
+     */
+    private static long fingerprint(ProductMeta product) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, Objects.hashCode(product.getCategory()));
+        hash = mix(hash, Objects.hashCode(product.getThumbnailUrl()));
+        hash = mix(hash, Objects.hashCode(product.getDescription()));
+        if (product instanceof ProductDetails details) {
+            hash = mix(hash, Objects.hashCode(details.getMediaUrls()));
+            hash = mix(hash, Objects.hashCode(details.getInventory()));
+            hash = mix(hash, Objects.hashCode(details.getDiscount()));
+            hash = mix(hash, Objects.hashCode(details.getReviews()));
+        }
+        return hash;
+    }
+
+    private static long version(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000 : 0;
+    }
+
+    private static long mix(long hash, long value) {
+        return mix(mix(hash, (int) value), (int) (value >>> 32));
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
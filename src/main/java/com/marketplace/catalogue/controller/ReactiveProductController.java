@@ -0,0 +1,108 @@
+package com.marketplace.catalogue.controller;
+
+import com.marketplace.catalogue.dto.ApiResponse;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductMeta;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.service.ReactiveProductService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking variant of the product read endpoints. The request is handled asynchronously:
+ * the servlet thread is released as soon as the Mono is returned and the response is written
+ * when the product has been loaded and enriched.
+ */
+@RestController
+@RequestMapping("/reactive/products")
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+
+    /**
+     * Get list of products with complete details
+     */
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<List<ProductDetails>>>> listProductsFull(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String status) {
+
+        UUID categoryUuid;
+        ProductStatus productStatus;
+        try {
+            categoryUuid = parseCategoryId(categoryId);
+            productStatus = parseStatus(status);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("Paramètres invalides: " + e.getMessage())));
+        }
+
+        return reactiveProductService.getAllProductDetails(categoryUuid, productStatus)
+                .map(products -> ProductETags.ok(products)
+                        .body(ApiResponse.ok("Liste des produits récupérée avec succès", products)));
+    }
+
+    /**
+     * Get complete details of a specific product
+     */
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<ApiResponse<ProductDetails>>> getProductDetailsById(@PathVariable UUID productId) {
+        return reactiveProductService.getProductDetails(productId)
+                .map(productDetails -> ProductETags.ok(productDetails)
+                        .body(ApiResponse.ok("Détails du produit récupérés avec succès", productDetails)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.notFound("Produit non trouvé avec l'ID: " + productId)));
+    }
+
+    /**
+     * Get list of products (metadata only)
+     */
+    @GetMapping("/meta")
+    public Mono<ResponseEntity<ApiResponse<List<ProductMeta>>>> listProductsMeta(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String status) {
+
+        UUID categoryUuid;
+        ProductStatus productStatus;
+        try {
+            categoryUuid = parseCategoryId(categoryId);
+            productStatus = parseStatus(status);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(ApiResponse.badRequest("Paramètres invalides: " + e.getMessage())));
+        }
+
+        return reactiveProductService.getAllProductMeta(categoryUuid, productStatus)
+                .map(products -> ProductETags.ok(products)
+                        .body(ApiResponse.ok("Métadonnées des produits récupérées avec succès", products)));
+    }
+
+    /**
+     * Get metadata of a specific product
+     */
+    @GetMapping("/meta/{productId}")
+    public Mono<ResponseEntity<ApiResponse<ProductMeta>>> getProductMetaById(@PathVariable UUID productId) {
+        return reactiveProductService.getProductMeta(productId)
+                .map(productMeta -> ProductETags.ok(productMeta)
+                        .body(ApiResponse.ok("Métadonnées du produit récupérées avec succès", productMeta)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.notFound("Produit non trouvé avec l'ID: " + productId)));
+    }
+
+    private static UUID parseCategoryId(String categoryId) {
+        return categoryId != null && !categoryId.trim().isEmpty() ? UUID.fromString(categoryId) : null;
+    }
+
+    private static ProductStatus parseStatus(String status) {
+        return status != null && !status.trim().isEmpty() ? ProductStatus.valueOf(status.toLowerCase()) : null;
+    }
+}
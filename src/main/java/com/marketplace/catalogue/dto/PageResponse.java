@@ -0,0 +1,30 @@
+package com.marketplace.catalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PageResponse<T> {
+    private List<T> items;
+
+    // Offset pagination only (null when paginating with a cursor)
+    private Integer page;
+
+    private int size;
+
+    private Long totalElements;
+
+    private Integer totalPages;
+
+    private boolean hasNext;
+
+    // Keyset pagination only: pass it as `cursor` to get the next page
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.marketplace.catalogue.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk update or delete
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkResult {
+    // Number of products updated or deleted
+    private int affected;
+
+    // Number of inventory and discount changes queued for METRONOME and ORNAMENTO
+    private int inventoryUpdates;
+
+    private int discountUpdates;
+}
@@ -0,0 +1,78 @@
+package com.marketplace.catalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Changes applied to a set of products: the products given by ID, or those matching the category
+ * and/or status filters
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdate {
+
+    @Size(max = 1000, message = "At most 1000 product IDs per request")
+    private List<UUID> productIds;
+
+    private UUID categoryId;
+
+    @Pattern(regexp = "available|deleted|out_of_stock",
+            message = "Status must be 'available', 'deleted', or 'out_of_stock'")
+    private String status;
+
+    @NotNull(message = "Changes are required")
+    @Valid
+    private Changes changes;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either product IDs or a category and/or status filter are required")
+    public boolean isSelective() {
+        boolean byId = productIds != null && !productIds.isEmpty();
+        return byId != (categoryId != null || status != null);
+    }
+
+    @JsonIgnore
+    public boolean isById() {
+        return productIds != null && !productIds.isEmpty();
+    }
+
+    /**
+     * The new values; absent fields are left unchanged. Only inventory and discount are sent to the
+     * downstream services.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Changes {
+
+        @DecimalMin(value = "0.01", message = "Price must be ≥ 0.01")
+        @DecimalMax(value = "999999.99", message = "Price must be ≤ 999,999.99")
+        private Double basePrice;
+
+        @Pattern(regexp = "available|deleted|out_of_stock",
+                message = "Status must be 'available', 'deleted', or 'out_of_stock'")
+        private String status;
+
+        private UUID categoryId;
+
+        @Min(value = 0, message = "Inventory cannot be negative")
+        @Max(value = 99999, message = "Inventory cannot exceed 99,999")
+        private Integer inventory;
+
+        private Discount discount;
+
+        @JsonIgnore
+        @AssertTrue(message = "At least one change is required")
+        public boolean isNotEmpty() {
+            return basePrice != null || status != null || categoryId != null || inventory != null || discount != null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.marketplace.catalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a bulk import, with one result per row
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportReport {
+    private int total;
+
+    private int created;
+
+    // Rows that could not be read or failed validation
+    private int rejected;
+
+    // Valid rows whose chunk could not be saved
+    private int failed;
+
+    private long durationMillis;
+
+    // Why the import stopped before the end of the upload (malformed content), absent when every row was read
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
+    private List<RowResult> rows;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+        // 1-based position of the row in the upload
+        private int row;
+
+        // created, rejected or failed
+        private String status;
+
+        private UUID productId;
+
+        private List<String> errors;
+
+        // Propagation of the inventory and discount: delivered, pending (sent in the background) or failed
+        private String inventory;
+
+        private String discount;
+    }
+}
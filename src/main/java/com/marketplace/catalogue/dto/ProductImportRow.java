@@ -0,0 +1,68 @@
+package com.marketplace.catalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One product of a bulk import (CSV line, NDJSON line or JSON array element): the fields of
+ * ProductInput without the media files, the discount flattened so that it fits in CSV columns
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRow {
+
+    @NotBlank(message = "Product name cannot be blank")
+    @Size(min = 2, max = 100, message = "Name must be between 2-100 characters")
+    private String name;
+
+    @NotBlank(message = "Description cannot be blank")
+    @Size(min = 10, max = 1000, message = "Description must be 10-1000 characters")
+    private String description;
+
+    @NotNull(message = "Category ID is required")
+    private UUID categoryId;
+
+    @NotNull(message = "Base price is required")
+    @DecimalMin(value = "0.01", message = "Price must be ≥ 0.01")
+    @DecimalMax(value = "999999.99", message = "Price must be ≤ 999,999.99")
+    private Double basePrice;
+
+    @NotNull(message = "Inventory count is required")
+    @Min(value = 0, message = "Inventory cannot be negative")
+    @Max(value = 99999, message = "Inventory cannot exceed 99,999")
+    private Integer inventory;
+
+    @NotBlank(message = "Status is required")
+    @Pattern(regexp = "available|deleted|out_of_stock",
+            message = "Status must be 'available', 'deleted', or 'out_of_stock'")
+    private String status;
+
+    // Optional discount: all three fields, or none
+    @DecimalMin(value = "0.01", message = "Discount percentage must be ≥ 0.01")
+    @DecimalMax(value = "100", message = "Discount percentage must be ≤ 100")
+    private Double discountPercentage;
+
+    private LocalDate discountStartDate;
+
+    private LocalDate discountEndDate;
+
+    @AssertTrue(message = "Discount percentage, start date and end date must be given together")
+    private boolean isDiscountComplete() {
+        return (discountPercentage == null) == (discountStartDate == null)
+                && (discountPercentage == null) == (discountEndDate == null);
+    }
+
+    public Discount toDiscount() {
+        return discountPercentage != null
+                ? new Discount(discountPercentage, null, discountStartDate, discountEndDate)
+                : null;
+    }
+}
@@ -1,10 +1,12 @@
 package com.marketplace.catalogue.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.marketplace.catalogue.model.ProductStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
@@ -24,4 +26,10 @@ public class ProductMeta {
     private String thumbnailUrl;
     
     private ProductStatus status;
+
+    /**
+     * Last update of the product row, part of the ETag header rather than of the body
+     */
+    @JsonIgnore
+    private LocalDateTime updatedAt;
 }
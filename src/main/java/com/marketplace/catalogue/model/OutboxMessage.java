@@ -0,0 +1,71 @@
+package com.marketplace.catalogue.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A downstream side effect of a product write (inventory, discount or media), written in the same
+ * transaction as the product and sent by the OutboxDispatcher once committed.
+ *
+ * Messages are deleted once delivered; a message that exhausted its attempts stays with status
+ * failed and its last error, for an operator to look at.
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_id, type, status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Sent with the downstream calls so that a retried call is applied once
+     */
+    @Column(name = "idempotency_key", nullable = false, unique = true)
+    private UUID idempotencyKey;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private OutboxMessageType type;
+
+    /**
+     * JSON document of the change, updated with the progress of multi-step changes (media)
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private OutboxMessageStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * When the message can next be claimed: now for a new message, the end of the lease while it is
+     * being sent, the retry time after a failure
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.marketplace.catalogue.model;
+
+public enum OutboxMessageStatus {
+    pending,
+    failed
+}
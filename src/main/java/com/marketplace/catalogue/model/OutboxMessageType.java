@@ -0,0 +1,7 @@
+package com.marketplace.catalogue.model;
+
+public enum OutboxMessageType {
+    inventory,
+    discount,
+    media
+}
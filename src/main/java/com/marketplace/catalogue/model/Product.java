@@ -11,7 +11,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
+// Indexes created by the db/migration scripts, declared here as well so that generated schemas match
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_status_created", columnList = "category_id, status, created_at, id"),
+        @Index(name = "idx_products_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_products_created", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
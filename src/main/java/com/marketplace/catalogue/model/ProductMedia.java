@@ -0,0 +1,48 @@
+package com.marketplace.catalogue.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Fingerprint of a media file uploaded to SCENA for a product, so that re-sending the same file on an
+ * update does not upload it again.
+ *
+ * The rows of a product are complete for a kind (thumbnail or media files) once that kind has been
+ * uploaded through the outbox; products with media uploaded before fingerprints were recorded have
+ * none, and their media are looked up in SCENA as before.
+ */
+@Entity
+@Table(name = "product_media", indexes = @Index(name = "idx_product_media_product", columnList = "product_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductMedia {
+    /**
+     * The ID of the media in SCENA
+     */
+    @Id
+    @Column(name = "media_id", length = 100)
+    private String mediaId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /**
+     * SHA-256 of the file content, hex encoded
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private boolean thumbnail;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,10 @@
+package com.marketplace.catalogue.outbox;
+
+import java.time.LocalDate;
+
+/**
+ * Payload of a discount message: the discount is added if the product has none, updated otherwise
+ * (a just created product has none on the first attempt, so it is added without looking up)
+ */
+record DiscountChange(Double discountPercentage, LocalDate startDate, LocalDate endDate, boolean newProduct) {
+}
@@ -0,0 +1,11 @@
+package com.marketplace.catalogue.outbox;
+
+/**
+ * Payload of an inventory message
+ * @param quantity the inventory the product must have; the dispatcher sends the difference with the
+ *                 current inventory, so a retried message is not applied twice
+ * @param newProduct whether the product was just created: its first attempt sends the quantity
+ *                   without reading the current inventory, there is none yet
+ */
+record InventoryChange(int quantity, boolean newProduct) {
+}
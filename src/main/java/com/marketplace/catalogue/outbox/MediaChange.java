@@ -0,0 +1,43 @@
+package com.marketplace.catalogue.outbox;
+
+import java.util.List;
+
+/**
+ * Payload of a media message, updated as the message progresses so that a retry resumes where the
+ * previous attempt stopped
+ * @param replaceThumbnail whether the current thumbnail is deleted
+ * @param replaceMedia whether the current media files are deleted
+ * @param files the staged files to upload
+ * @param oldThumbnailIds the IDs of the thumbnails to delete, null until looked up (known upfront when
+ *                        the fingerprints of the product are)
+ * @param oldMediaIds the IDs of the media files to delete, null until looked up (idem)
+ */
+record MediaChange(boolean replaceThumbnail, boolean replaceMedia, List<StagedFile> files,
+                   List<String> oldThumbnailIds, List<String> oldMediaIds) {
+
+    MediaChange withOldMedia(List<String> oldThumbnailIds, List<String> oldMediaIds) {
+        return new MediaChange(replaceThumbnail, replaceMedia, files, oldThumbnailIds, oldMediaIds);
+    }
+
+    MediaChange withFiles(List<StagedFile> files) {
+        return new MediaChange(replaceThumbnail, replaceMedia, files, oldThumbnailIds, oldMediaIds);
+    }
+
+    /**
+     * An uploaded file kept in the database until sent to SCENA (see MediaStaging)
+     * @param id the ID of the staged file
+     * @param name the original file name
+     * @param contentType the media type of the file (may be null)
+     * @param size the file size in bytes
+     * @param thumbnail whether the file is the product thumbnail
+     * @param contentHash the SHA-256 of the file content, hex encoded
+     * @param uploaded whether the file has been sent
+     */
+    record StagedFile(String id, String name, String contentType, long size, boolean thumbnail,
+                      String contentHash, boolean uploaded) {
+
+        StagedFile asUploaded() {
+            return new StagedFile(id, name, contentType, size, thumbnail, contentHash, true);
+        }
+    }
+}
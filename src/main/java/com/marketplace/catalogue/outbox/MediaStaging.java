@@ -0,0 +1,152 @@
+package com.marketplace.catalogue.outbox;
+
+import com.marketplace.catalogue.config.OutboxProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the uploaded media files in the database (outbox_media_files) until the outbox sends them to
+ * SCENA, so that the node sending a message does not have to be the one that received its files.
+ *
+ * The files are stored in chunks of CHUNK_SIZE bytes, written and read one at a time: a file is never
+ * held in memory, and no statement exceeds the max_allowed_packet of MySQL. A staged file is attached
+ * to its message in the transaction of the write; files left unattached (the write failed or its node
+ * stopped) are deleted after the staging retention.
+ */
+@Component
+class MediaStaging {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaStaging.class);
+
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxProperties properties;
+
+    MediaStaging(JdbcTemplate jdbcTemplate, OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Stores an uploaded file, fingerprinting it on the way. Runs outside of any transaction: each chunk
+     * is committed as it is written.
+     */
+    MediaChange.StagedFile stage(MultipartFile file, boolean thumbnail) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO outbox_media_files (id, created_at) VALUES (?, ?)", bytes(id), LocalDateTime.now());
+        try (DigestInputStream in = new DigestInputStream(file.getInputStream(), sha256())) {
+            int seq = 0;
+            byte[] chunk;
+            while ((chunk = in.readNBytes(CHUNK_SIZE)).length > 0) {
+                jdbcTemplate.update("INSERT INTO outbox_media_chunks (file_id, seq, content) VALUES (?, ?, ?)",
+                        bytes(id), seq++, chunk);
+            }
+            return new MediaChange.StagedFile(id.toString(), file.getOriginalFilename(), file.getContentType(),
+                    file.getSize(), thumbnail, HexFormat.of().formatHex(in.getMessageDigest().digest()), false);
+        } catch (IOException e) {
+            delete(id.toString());
+            throw new UncheckedIOException("Failed to stage media file " + file.getOriginalFilename(), e);
+        } catch (RuntimeException e) {
+            delete(id.toString());
+            throw e;
+        }
+    }
+
+    /**
+     * Marks staged files as owned by an outbox message, in the transaction recording it
+     */
+    void attach(Long messageId, Collection<MediaChange.StagedFile> files) {
+        jdbcTemplate.batchUpdate("UPDATE outbox_media_files SET message_id = ? WHERE id = ?",
+                files.stream().map(file -> new Object[]{messageId, bytes(UUID.fromString(file.id()))}).toList());
+    }
+
+    /**
+     * Copies a staged file to a local temporary file, for the time of its upload (the connection is
+     * only held while a chunk is read)
+     * @return the temporary file, to be deleted by the caller
+     */
+    Path copyToTemporaryFile(MediaChange.StagedFile file) {
+        try {
+            Path target = Files.createTempFile("catalogue-outbox-", null);
+            try (var out = Files.newOutputStream(target)) {
+                byte[] id = bytes(UUID.fromString(file.id()));
+                for (int seq = 0; ; seq++) {
+                    List<byte[]> chunk = jdbcTemplate.queryForList(
+                            "SELECT content FROM outbox_media_chunks WHERE file_id = ? AND seq = ?", byte[].class, id, seq);
+                    if (chunk.isEmpty()) {
+                        break;
+                    }
+                    out.write(chunk.get(0));
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(target);
+                throw e;
+            }
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read staged media file " + file.name(), e);
+        }
+    }
+
+    void discard(Collection<MediaChange.StagedFile> files) {
+        for (MediaChange.StagedFile file : files) {
+            try {
+                delete(file.id());
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete staged media file {}", file.id(), e);
+            }
+        }
+    }
+
+    /**
+     * Deletes the staged files that no message owns after the staging retention
+     */
+    @Scheduled(fixedDelayString = "${catalogue.outbox.staging-retention:1h}")
+    void purgeUnattached() {
+        int purged = jdbcTemplate.update("DELETE FROM outbox_media_files WHERE message_id IS NULL AND created_at < ?",
+                LocalDateTime.now().minus(properties.getStagingRetention()));
+        if (purged > 0) {
+            log.info("Deleted {} staged media files of writes that were not committed", purged);
+        }
+    }
+
+    private void delete(String id) {
+        // The chunks are deleted with their file (ON DELETE CASCADE)
+        jdbcTemplate.update("DELETE FROM outbox_media_files WHERE id = ?", bytes(UUID.fromString(id)));
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.marketplace.catalogue.outbox;
+
+import com.marketplace.catalogue.cache.ProductChangedEvent;
+import com.marketplace.catalogue.config.OutboxProperties;
+import com.marketplace.catalogue.config.TokenHolder;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the outbox messages to the downstream services, in the background.
+ *
+ * Each poll claims due messages in a short transaction (SELECT ... FOR UPDATE SKIP LOCKED, so that
+ * several nodes share the work) by pushing their next attempt to the end of a lease, and hands them to
+ * the outbox threads without waiting for them: the downstream calls are made without any transaction or
+ * connection held, and a slow message (a large media upload) only holds its own thread. A poll claims
+ * no more messages than there are free threads, so that a claimed message is sent right away rather
+ * than waiting in a queue while its lease runs, and the others are left to the next poll or to the
+ * other nodes. A delivered message is
+ * deleted and the product invalidated in the caches; a failed one is retried with an exponential
+ * backoff, then left with status failed after the maximum number of attempts.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProductSideEffects sideEffects;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor outboxExecutor;
+    private final TokenHolder tokenHolder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final OutboxProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                     ProductSideEffects sideEffects,
+                     PlatformTransactionManager transactionManager,
+                     ThreadPoolTaskExecutor outboxExecutor,
+                     TokenHolder tokenHolder,
+                     ApplicationEventPublisher eventPublisher,
+                     MeterRegistry meterRegistry,
+                     OutboxProperties properties) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.sideEffects = sideEffects;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outboxExecutor = outboxExecutor;
+        this.tokenHolder = tokenHolder;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        if (properties.isEnabled() && !StringUtils.hasText(properties.getServiceToken())) {
+            throw new IllegalStateException("catalogue.outbox.service-token is required to send the outbox messages "
+                    + "(or disable the outbox on this node with catalogue.outbox.enabled=false)");
+        }
+        Gauge.builder("outbox.messages.in-flight", inFlight, AtomicInteger::get)
+                .description("Outbox messages claimed by this node and not sent yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts sending due messages, as many as there are free outbox threads (without waiting for them)
+     */
+    @Scheduled(fixedDelayString = "${catalogue.outbox.poll-interval:500ms}")
+    public void dispatch() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int free;
+        while ((free = Math.min(properties.getConcurrency() - inFlight.get(), properties.getBatchSize())) > 0) {
+            int limit = free;
+            List<OutboxMessage> batch = transactionTemplate.execute(status -> claim(limit));
+            batch.forEach(this::sendAsync);
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Sends the given messages right away instead of waiting for the next poll (those already claimed
+     * by a poll are left to it, and all of them when this node does not send the messages)
+     * @param messageIds the IDs of committed messages
+     * @return a future completing with the outcome (delivered, retried or failed) of each sent message
+     */
+    public CompletableFuture<Map<Long, String>> dispatchNow(Collection<Long> messageIds) {
+        if (messageIds.isEmpty() || !properties.isEnabled()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            return lease(outboxMessageRepository.findDueByIdIn(messageIds, now), now);
+        });
+        Map<Long, String> outcomes = new ConcurrentHashMap<>();
+        return CompletableFuture.allOf(claimed.stream()
+                        .map(message -> sendAsync(message).thenAccept(outcome -> outcomes.put(message.getId(), outcome)))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(done -> outcomes);
+    }
+
+    private List<OutboxMessage> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        return lease(outboxMessageRepository.findDue(now, PageRequest.of(0, limit)), now);
+    }
+
+    /**
+     * Sends a claimed message on an outbox thread. Messages claimed by dispatchNow count as well, so
+     * that the polls leave the outbox threads to them.
+     */
+    private CompletableFuture<String> sendAsync(OutboxMessage message) {
+        inFlight.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> send(message), outboxExecutor)
+                    .whenComplete((outcome, e) -> inFlight.decrementAndGet());
+        } catch (RuntimeException e) {
+            // Executor shut down: the message is claimed again at the end of its lease
+            inFlight.decrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private List<OutboxMessage> lease(List<OutboxMessage> messages, LocalDateTime now) {
+        LocalDateTime leaseEnd = now.plus(properties.getLease());
+        for (OutboxMessage message : messages) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(leaseEnd);
+        }
+        return messages;
+    }
+
+    /**
+     * @return the outcome: delivered, retried or failed
+     */
+    private String send(OutboxMessage message) {
+        tokenHolder.setToken(properties.getServiceToken());
+        try {
+            sideEffects.apply(message);
+            outboxMessageRepository.deleteById(message.getId());
+            sideEffects.discard(message);
+            return count(message, "delivered");
+        } catch (Exception e) {
+            String error = abbreviate(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            if (message.getAttempts() >= properties.getMaxAttempts()) {
+                log.error("Giving up {} message {} of product {} after {} attempts: {}", message.getType(),
+                        message.getId(), message.getAggregateId(), message.getAttempts(), error);
+                outboxMessageRepository.markFailed(message.getId(), error);
+                sideEffects.discard(message);
+                return count(message, "failed");
+            } else {
+                Duration backoff = backoff(message.getAttempts());
+                log.warn("Failed to send {} message {} of product {} (attempt {}), retrying in {}: {}", message.getType(),
+                        message.getId(), message.getAggregateId(), message.getAttempts(), backoff, error);
+                outboxMessageRepository.reschedule(message.getId(), LocalDateTime.now().plus(backoff), error);
+                return count(message, "retried");
+            }
+        } finally {
+            tokenHolder.clear();
+            // Partially applied changes are visible as well: drop the cached values, here and on the other nodes
+            eventPublisher.publishEvent(new ProductChangedEvent(message.getAggregateId()));
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private String count(OutboxMessage message, String outcome) {
+        meterRegistry.counter("outbox.messages", "type", message.getType().name(), "outcome", outcome).increment();
+        return outcome;
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
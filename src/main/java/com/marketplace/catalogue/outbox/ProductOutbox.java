@@ -0,0 +1,231 @@
+package com.marketplace.catalogue.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.OutboxMessageStatus;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.model.ProductMedia;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import com.marketplace.catalogue.repository.ProductMediaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records the downstream side effects of a product write in the outbox table, in the transaction
+ * of the write: they are sent by the OutboxDispatcher once (and only if) the transaction commits.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class ProductOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProductMediaRepository productMediaRepository;
+    private final MediaStaging mediaStaging;
+    private final ObjectMapper objectMapper;
+
+    public ProductOutbox(OutboxMessageRepository outboxMessageRepository,
+                         ProductMediaRepository productMediaRepository,
+                         MediaStaging mediaStaging,
+                         ObjectMapper objectMapper) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.productMediaRepository = productMediaRepository;
+        this.mediaStaging = mediaStaging;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param productId the product ID
+     * @param quantity the inventory the product must have in METRONOME
+     * @param newProduct whether the product is created in this transaction
+     * @return the ID of the outbox message
+     */
+    public Long inventory(UUID productId, int quantity, boolean newProduct) {
+        return append(productId, OutboxMessageType.inventory, new InventoryChange(quantity, newProduct));
+    }
+
+    /**
+     * @param productId the product ID
+     * @param discount the discount the product must have in ORNAMENTO
+     * @param newProduct whether the product is created in this transaction
+     * @return the ID of the outbox message
+     */
+    public Long discount(UUID productId, Discount discount, boolean newProduct) {
+        return append(productId, OutboxMessageType.discount, new DiscountChange(
+                discount.getDiscountPercentage(), discount.getStartDate(), discount.getEndDate(), newProduct));
+    }
+
+    /**
+     * Stages the uploaded files, before the transaction of the write: they are read, fingerprinted and
+     * stored without holding its connection. The staged files are then recorded with the write by
+     * {@link #media}, or discarded with {@link #discard} if it is not committed.
+     * @param thumbnailFile the new thumbnail (may be null or empty)
+     * @param mediaFiles the new media files (may be null)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StagedMedia stage(MultipartFile thumbnailFile, List<MultipartFile> mediaFiles) {
+        List<MediaChange.StagedFile> files = new ArrayList<>();
+        try {
+            if (thumbnailFile != null && !thumbnailFile.isEmpty()) {
+                files.add(mediaStaging.stage(thumbnailFile, true));
+            }
+            if (mediaFiles != null) {
+                for (MultipartFile mediaFile : mediaFiles) {
+                    if (mediaFile != null && !mediaFile.isEmpty()) {
+                        files.add(mediaStaging.stage(mediaFile, false));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            mediaStaging.discard(files);
+            throw e;
+        }
+        return files.isEmpty() ? StagedMedia.NONE : new StagedMedia(List.copyOf(files));
+    }
+
+    /**
+     * Discards the staged files of a write that was not committed
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void discard(StagedMedia media) {
+        mediaStaging.discard(media.files());
+    }
+
+    /**
+     * Records the upload of staged files to SCENA
+     * @param productId the product ID
+     * @param media the new thumbnail and media files (see {@link #stage})
+     * @param replace whether the current thumbnail (if a new one is given) and media files (if new ones are given) are
+     *                replaced; files identical to current ones are kept and not uploaded again
+     */
+    public void media(UUID productId, StagedMedia media, boolean replace) {
+        List<MediaChange.StagedFile> files = media.files();
+        if (files.isEmpty()) {
+            return;
+        }
+        boolean newThumbnail = files.stream().anyMatch(MediaChange.StagedFile::thumbnail);
+        boolean newMedia = files.stream().anyMatch(file -> !file.thumbnail());
+        MediaChange change = new MediaChange(replace && newThumbnail, replace && newMedia, files,
+                replace && newThumbnail ? null : List.of(), replace && newMedia ? null : List.of());
+        if (replace) {
+            change = withoutUnchangedFiles(productId, change);
+        }
+        if (change.files().isEmpty() && change.oldThumbnailIds() != null && change.oldThumbnailIds().isEmpty()
+                && change.oldMediaIds() != null && change.oldMediaIds().isEmpty()) {
+            // Same files as the current ones: nothing to send
+            return;
+        }
+        Long messageId = append(productId, OutboxMessageType.media, change);
+        mediaStaging.attach(messageId, change.files());
+    }
+
+    /**
+     * Drops the media fingerprints of deleted products
+     * @param productIds the IDs of the deleted products
+     */
+    public void forgetMedia(Collection<UUID> productIds) {
+        productMediaRepository.deleteByProductIds(productIds);
+    }
+
+    /**
+     * Drops the media fingerprints of the products matching the filters, before they are deleted
+     * @param categoryId the category filter (may be null)
+     * @param status the status filter (may be null)
+     */
+    public void forgetMedia(UUID categoryId, ProductStatus status) {
+        productMediaRepository.deleteByProductFilter(categoryId, status);
+    }
+
+    /**
+     * @return whether a message of the given type is waiting to be sent for the product, in which case
+     * the downstream values are about to change
+     */
+    public boolean hasPending(UUID productId, OutboxMessageType type) {
+        return outboxMessageRepository.existsPending(productId, type);
+    }
+
+    /**
+     * Compares the files replacing the current ones with the fingerprints of the current ones: files
+     * already in SCENA are kept rather than deleted and uploaded again. Without fingerprints for a kind
+     * (media uploaded before they were recorded), or while an earlier media message is pending, the
+     * current media are looked up and replaced when the message is sent.
+     */
+    private MediaChange withoutUnchangedFiles(UUID productId, MediaChange change) {
+        if (hasPending(productId, OutboxMessageType.media)) {
+            return change;
+        }
+        List<ProductMedia> current = productMediaRepository.findByProductId(productId);
+        List<MediaChange.StagedFile> files = new ArrayList<>(change.files());
+        List<MediaChange.StagedFile> unchanged = new ArrayList<>();
+        List<String> oldThumbnailIds = change.oldThumbnailIds();
+        List<String> oldMediaIds = change.oldMediaIds();
+        if (change.replaceThumbnail()) {
+            List<ProductMedia> thumbnails = current.stream().filter(ProductMedia::isThumbnail).toList();
+            if (!thumbnails.isEmpty()) {
+                oldThumbnailIds = keep(thumbnails, files, unchanged, true);
+            }
+        }
+        if (change.replaceMedia()) {
+            List<ProductMedia> media = current.stream().filter(item -> !item.isThumbnail()).toList();
+            if (!media.isEmpty()) {
+                oldMediaIds = keep(media, files, unchanged, false);
+            }
+        }
+        files.removeAll(unchanged);
+        mediaStaging.discard(unchanged);
+        return new MediaChange(change.replaceThumbnail(), change.replaceMedia(), List.copyOf(files),
+                oldThumbnailIds, oldMediaIds);
+    }
+
+    /**
+     * Matches the new files of a kind with the current ones by content hash
+     * @return the IDs of the current media to delete
+     */
+    private static List<String> keep(List<ProductMedia> current, List<MediaChange.StagedFile> files,
+                                     List<MediaChange.StagedFile> unchanged, boolean thumbnail) {
+        List<ProductMedia> remaining = new ArrayList<>(current);
+        for (MediaChange.StagedFile file : files) {
+            if (file.thumbnail() != thumbnail) {
+                continue;
+            }
+            for (Iterator<ProductMedia> it = remaining.iterator(); it.hasNext(); ) {
+                if (it.next().getContentHash().equals(file.contentHash())) {
+                    it.remove();
+                    unchanged.add(file);
+                    break;
+                }
+            }
+        }
+        return remaining.stream().map(ProductMedia::getMediaId).toList();
+    }
+
+    private Long append(UUID productId, OutboxMessageType type, Object payload) {
+        OutboxMessage message = new OutboxMessage();
+        message.setIdempotencyKey(UUID.randomUUID());
+        message.setAggregateId(productId);
+        message.setType(type);
+        message.setPayload(write(payload));
+        message.setStatus(OutboxMessageStatus.pending);
+        message.setNextAttemptAt(LocalDateTime.now());
+        return outboxMessageRepository.save(message).getId();
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.marketplace.catalogue.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalogue.client.MetronomeServiceClient;
+import com.marketplace.catalogue.client.OrnamentoServiceClient;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.dto.external.MetronomeInventoryRequest;
+import com.marketplace.catalogue.dto.external.OrnamentoDiscountRequest;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.ProductMedia;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import com.marketplace.catalogue.repository.ProductMediaRepository;
+import com.marketplace.catalogue.service.media.MediaTransferPipeline;
+import com.marketplace.catalogue.service.media.MediaTransferResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies the outbox messages to the downstream services. Every message can be applied again after
+ * a partial failure: inventory and discount are set to their target values, and media messages
+ * record their progress in their payload.
+ *
+ * Runs on an outbox thread holding the service token (see OutboxDispatcher).
+ */
+@Component
+class ProductSideEffects {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSideEffects.class);
+
+    private final MetronomeServiceClient metronomeServiceClient;
+    private final OrnamentoServiceClient ornamentoServiceClient;
+    private final ScenaServiceClient scenaServiceClient;
+    private final MediaTransferPipeline mediaTransferPipeline;
+    private final MediaStaging mediaStaging;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ProductMediaRepository productMediaRepository;
+    private final ObjectMapper objectMapper;
+
+    ProductSideEffects(MetronomeServiceClient metronomeServiceClient,
+                       OrnamentoServiceClient ornamentoServiceClient,
+                       ScenaServiceClient scenaServiceClient,
+                       MediaTransferPipeline mediaTransferPipeline,
+                       MediaStaging mediaStaging,
+                       OutboxMessageRepository outboxMessageRepository,
+                       ProductMediaRepository productMediaRepository,
+                       ObjectMapper objectMapper) {
+        this.metronomeServiceClient = metronomeServiceClient;
+        this.ornamentoServiceClient = ornamentoServiceClient;
+        this.scenaServiceClient = scenaServiceClient;
+        this.mediaTransferPipeline = mediaTransferPipeline;
+        this.mediaStaging = mediaStaging;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.productMediaRepository = productMediaRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param message the message to apply
+     * @throws RuntimeException if a downstream call failed (the message is to be retried)
+     */
+    void apply(OutboxMessage message) {
+        switch (message.getType()) {
+            case inventory -> applyInventory(message);
+            case discount -> applyDiscount(message);
+            case media -> applyMedia(message);
+        }
+    }
+
+    /**
+     * Releases what a message holds once it is delivered or given up (staged media files)
+     */
+    void discard(OutboxMessage message) {
+        switch (message.getType()) {
+            case media -> mediaStaging.discard(read(message, MediaChange.class).files());
+            case inventory, discount -> {
+            }
+        }
+    }
+
+    private void applyInventory(OutboxMessage message) {
+        UUID productId = message.getAggregateId();
+        InventoryChange change = read(message, InventoryChange.class);
+
+        // Send the difference with the current inventory (none yet for a new product: no need to
+        // look it up, unless a previous attempt may have reached METRONOME)
+        int currentInventory = change.newProduct() && message.getAttempts() <= 1
+                ? 0
+                : metronomeServiceClient.fetchProductInventory(productId)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                        .defaultIfEmpty(0)
+                        .block();
+        int inventoryDifference = change.quantity() - currentInventory;
+        if (inventoryDifference == 0) {
+            return;
+        }
+        MetronomeInventoryRequest inventoryRequest = new MetronomeInventoryRequest(
+                productId.toString(),
+                Math.abs(inventoryDifference)
+        );
+        String idempotencyKey = message.getIdempotencyKey().toString();
+        if (inventoryDifference > 0) {
+            metronomeServiceClient.increaseInventory(inventoryRequest, idempotencyKey).block();
+        } else {
+            metronomeServiceClient.decreaseInventory(inventoryRequest, idempotencyKey).block();
+        }
+    }
+
+    private void applyDiscount(OutboxMessage message) {
+        UUID productId = message.getAggregateId();
+        DiscountChange change = read(message, DiscountChange.class);
+        OrnamentoDiscountRequest discountRequest = new OrnamentoDiscountRequest(
+                productId.toString(),
+                change.discountPercentage(),
+                change.startDate(),
+                change.endDate()
+        );
+
+        // Update the promotion of the product if it has one, add it otherwise
+        String idempotencyKey = message.getIdempotencyKey().toString();
+        Long promotionId = change.newProduct() && message.getAttempts() <= 1
+                ? null
+                : ornamentoServiceClient.fetchProductDiscountId(productId).block();
+        if (promotionId != null) {
+            ornamentoServiceClient.updateDiscount(promotionId.toString(), discountRequest, idempotencyKey).block();
+        } else {
+            ornamentoServiceClient.addDiscount(discountRequest, idempotencyKey).block();
+        }
+    }
+
+    private void applyMedia(OutboxMessage message) {
+        UUID productId = message.getAggregateId();
+        MediaChange change = read(message, MediaChange.class);
+
+        // Look up the media to replace once, unless known from their fingerprints: on a retry, the files
+        // uploaded since must not be deleted
+        if (change.oldThumbnailIds() == null || change.oldMediaIds() == null) {
+            List<String> oldThumbnailIds = change.oldThumbnailIds() != null
+                    ? change.oldThumbnailIds()
+                    : scenaServiceClient.fetchThumbnailId(productId).map(List::of).defaultIfEmpty(List.of()).block();
+            List<String> oldMediaIds = change.oldMediaIds() != null
+                    ? change.oldMediaIds()
+                    : scenaServiceClient.fetchProductMediaIds(productId).defaultIfEmpty(List.of()).block();
+            change = change.withOldMedia(oldThumbnailIds, oldMediaIds);
+            save(message, change);
+        }
+
+        // Delete old thumbnail and media files (again on a retry: already deleted media count as deleted)
+        List<MediaTransferResult> deletions = Mono.zip(
+                        mediaTransferPipeline.delete(productId, change.oldThumbnailIds(), true),
+                        mediaTransferPipeline.delete(productId, change.oldMediaIds(), false))
+                .map(results -> {
+                    List<MediaTransferResult> all = new ArrayList<>(results.getT1());
+                    all.addAll(results.getT2());
+                    return all;
+                })
+                .block();
+        List<String> deletedIds = deletions.stream()
+                .filter(MediaTransferResult::success)
+                .map(MediaTransferResult::mediaId)
+                .toList();
+        if (!deletedIds.isEmpty()) {
+            productMediaRepository.deleteByMediaIds(deletedIds);
+        }
+        for (MediaTransferResult deletion : deletions) {
+            if (!deletion.success()) {
+                throw new RuntimeException(deletion.thumbnail()
+                        ? "Failed to delete old thumbnail from media service"
+                        : "Failed to delete old media file from media service");
+            }
+        }
+
+        // Upload the files not sent yet, each with its own idempotency key, from local copies of the
+        // staged files (the connection is only held while they are copied, not during the uploads)
+        List<MediaChange.StagedFile> files = change.files();
+        List<Integer> pending = new ArrayList<>();
+        List<MediaTransferPipeline.MediaFile> uploads = new ArrayList<>();
+        List<Path> copies = new ArrayList<>();
+        List<MediaTransferResult> results;
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                MediaChange.StagedFile file = files.get(i);
+                if (!file.uploaded()) {
+                    Path copy = mediaStaging.copyToTemporaryFile(file);
+                    copies.add(copy);
+                    pending.add(i);
+                    uploads.add(new MediaTransferPipeline.MediaFile(new FileSystemResource(copy),
+                            file.name(), file.contentType(), file.size(), file.thumbnail(),
+                            message.getIdempotencyKey() + "-" + i));
+                }
+            }
+            results = mediaTransferPipeline.upload(productId, uploads).block();
+        } finally {
+            for (Path copy : copies) {
+                try {
+                    Files.deleteIfExists(copy);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temporary media file {}", copy, e);
+                }
+            }
+        }
+
+        List<MediaChange.StagedFile> progress = new ArrayList<>(files);
+        List<ProductMedia> fingerprints = new ArrayList<>();
+        MediaTransferResult failure = null;
+        for (int i = 0; i < results.size(); i++) {
+            MediaChange.StagedFile file = files.get(pending.get(i));
+            if (results.get(i).success()) {
+                progress.set(pending.get(i), file.asUploaded());
+                if (file.contentHash() != null && results.get(i).mediaId() != null) {
+                    fingerprints.add(new ProductMedia(results.get(i).mediaId(), productId, file.contentHash(),
+                            file.thumbnail(), null));
+                }
+            } else if (failure == null) {
+                failure = results.get(i);
+            }
+        }
+        if (!fingerprints.isEmpty()) {
+            productMediaRepository.saveAll(fingerprints);
+        }
+        if (failure != null) {
+            save(message, change.withFiles(progress));
+            throw new RuntimeException(failure.thumbnail()
+                    ? "Failed to upload thumbnail to media service"
+                    : "Failed to upload media file " + failure.name() + " to media service");
+        }
+    }
+
+    private void save(OutboxMessage message, Object payload) {
+        String json = write(payload);
+        outboxMessageRepository.updatePayload(message.getId(), json);
+        message.setPayload(json);
+    }
+
+    private <T> T read(OutboxMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload of message " + message.getId(), e);
+        }
+    }
+
+    private String write(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
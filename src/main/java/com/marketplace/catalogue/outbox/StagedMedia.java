@@ -0,0 +1,22 @@
+package com.marketplace.catalogue.outbox;
+
+import java.util.List;
+
+/**
+ * Uploaded thumbnail and media files of a product write, staged before its transaction (see
+ * ProductOutbox#stage) and recorded with the write by ProductOutbox#media
+ */
+public final class StagedMedia {
+
+    static final StagedMedia NONE = new StagedMedia(List.of());
+
+    private final List<MediaChange.StagedFile> files;
+
+    StagedMedia(List<MediaChange.StagedFile> files) {
+        this.files = files;
+    }
+
+    List<MediaChange.StagedFile> files() {
+        return files;
+    }
+}
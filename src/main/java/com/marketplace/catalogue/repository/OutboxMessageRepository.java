@@ -0,0 +1,73 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Due pending messages, locked FOR UPDATE SKIP LOCKED so that concurrent dispatchers (other nodes)
+     * claim different messages. A message waits for the older pending messages of the same product and
+     * type, so that two changes of the same data are applied in order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m " +
+            "WHERE m.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending AND m.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT o.id FROM OutboxMessage o WHERE o.aggregateId = m.aggregateId AND o.type = m.type " +
+            "AND o.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending AND o.id < m.id) " +
+            "ORDER BY m.id")
+    List<OutboxMessage> findDue(@Param("now") LocalDateTime now, Pageable limit);
+
+    /**
+     * Variant of {@link #findDue} restricted to the given messages
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m " +
+            "WHERE m.id IN :ids AND m.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending AND m.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT o.id FROM OutboxMessage o WHERE o.aggregateId = m.aggregateId AND o.type = m.type " +
+            "AND o.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending AND o.id < m.id) " +
+            "ORDER BY m.id")
+    List<OutboxMessage> findDueByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.payload = :payload WHERE m.id = :id")
+    int updatePayload(@Param("id") Long id, @Param("payload") String payload);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :nextAttemptAt, m.lastError = :error WHERE m.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("error") String error);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.marketplace.catalogue.model.OutboxMessageStatus.failed, " +
+            "m.lastError = :error WHERE m.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    @Query("SELECT COUNT(m) FROM OutboxMessage m WHERE m.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending")
+    long countPending();
+
+    @Query("SELECT COUNT(m) > 0 FROM OutboxMessage m WHERE m.aggregateId = :aggregateId AND m.type = :type " +
+            "AND m.status = com.marketplace.catalogue.model.OutboxMessageStatus.pending")
+    boolean existsPending(@Param("aggregateId") UUID aggregateId, @Param("type") OutboxMessageType type);
+}
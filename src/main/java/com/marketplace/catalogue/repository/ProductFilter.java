@@ -0,0 +1,43 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductStatus;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Category and status filters of the product queries. Only the filters given are written in the
+ * WHERE clause, so that each combination is its own statement, planned on its own index: a single
+ * statement with "(:filter IS NULL OR column = :filter)" conditions is planned once for all of them
+ * by MySQL (server-side prepared statements) and falls back to a table scan.
+ */
+record ProductFilter(UUID categoryId, ProductStatus status) {
+
+    /**
+     * @param conditions further conditions on the products (alias p)
+     * @return the WHERE clause on the products (alias p), empty without any condition
+     */
+    String where(String... conditions) {
+        List<String> all = new ArrayList<>();
+        if (categoryId != null) {
+            all.add("p.categoryId = :categoryId");
+        }
+        if (status != null) {
+            all.add("p.status = :status");
+        }
+        all.addAll(List.of(conditions));
+        return all.isEmpty() ? "" : " WHERE " + String.join(" AND ", all);
+    }
+
+    <Q extends Query> Q bind(Q query) {
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,43 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Product queries with optional category and status filters (null filters are ignored), one
+ * statement per combination of filters (see ProductFilter)
+ */
+public interface ProductFilterQueries {
+
+    // Paginated listings, ordered by (createdAt, id)
+
+    Page<Product> findPage(UUID categoryId, ProductStatus status, Pageable pageable);
+
+    List<Product> findFirstKeysetPage(UUID categoryId, ProductStatus status, Pageable limit);
+
+    List<Product> findKeysetPageAfter(UUID categoryId, ProductStatus status, LocalDateTime createdAt, UUID id, Pageable limit);
+
+    // Same listings projected on ProductSummary (description column not selected)
+
+    Page<ProductSummary> findSummaryPage(UUID categoryId, ProductStatus status, Pageable pageable);
+
+    List<ProductSummary> findSummaries(UUID categoryId, ProductStatus status, Pageable limit);
+
+    List<ProductSummary> findSummariesAfter(UUID categoryId, ProductStatus status, LocalDateTime createdAt, UUID id, Pageable limit);
+
+    // Bulk changes of the products matching the filters, each in one statement. Null values are left
+    // unchanged; updatedAt is set explicitly as bulk statements bypass @UpdateTimestamp.
+
+    List<UUID> findIds(UUID categoryId, ProductStatus status);
+
+    int bulkUpdate(UUID categoryId, ProductStatus status,
+                   Double basePrice, ProductStatus newStatus, UUID newCategoryId, LocalDateTime now);
+
+    int bulkDelete(UUID categoryId, ProductStatus status);
+}
@@ -0,0 +1,130 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+class ProductFilterQueriesImpl implements ProductFilterQueries {
+
+    private static final String SUMMARY = "SELECT new com.marketplace.catalogue.repository.ProductSummaryRow(" +
+            "p.id, p.name, p.basePrice, p.categoryId, p.status, p.createdAt, p.updatedAt) FROM Product p";
+    private static final String AFTER = "(p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id))";
+    private static final String ORDER = " ORDER BY p.createdAt, p.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Product> findPage(UUID categoryId, ProductStatus status, Pageable pageable) {
+        return page(Product.class, "SELECT p FROM Product p", new ProductFilter(categoryId, status), pageable);
+    }
+
+    @Override
+    public List<Product> findFirstKeysetPage(UUID categoryId, ProductStatus status, Pageable limit) {
+        return keysetPage(Product.class, "SELECT p FROM Product p", new ProductFilter(categoryId, status), null, null, limit);
+    }
+
+    @Override
+    public List<Product> findKeysetPageAfter(UUID categoryId, ProductStatus status, LocalDateTime createdAt, UUID id, Pageable limit) {
+        return keysetPage(Product.class, "SELECT p FROM Product p", new ProductFilter(categoryId, status), createdAt, id, limit);
+    }
+
+    @Override
+    public Page<ProductSummary> findSummaryPage(UUID categoryId, ProductStatus status, Pageable pageable) {
+        return page(ProductSummary.class, SUMMARY, new ProductFilter(categoryId, status), pageable);
+    }
+
+    @Override
+    public List<ProductSummary> findSummaries(UUID categoryId, ProductStatus status, Pageable limit) {
+        return keysetPage(ProductSummary.class, SUMMARY, new ProductFilter(categoryId, status), null, null, limit);
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesAfter(UUID categoryId, ProductStatus status, LocalDateTime createdAt, UUID id, Pageable limit) {
+        return keysetPage(ProductSummary.class, SUMMARY, new ProductFilter(categoryId, status), createdAt, id, limit);
+    }
+
+    @Override
+    public List<UUID> findIds(UUID categoryId, ProductStatus status) {
+        ProductFilter filter = new ProductFilter(categoryId, status);
+        return filter.bind(entityManager.createQuery("SELECT p.id FROM Product p" + filter.where(), UUID.class))
+                .getResultList();
+    }
+
+    @Override
+    public int bulkUpdate(UUID categoryId, ProductStatus status,
+                          Double basePrice, ProductStatus newStatus, UUID newCategoryId, LocalDateTime now) {
+        ProductFilter filter = new ProductFilter(categoryId, status);
+        // Only the values given are set
+        StringBuilder jpql = new StringBuilder("UPDATE Product p SET p.updatedAt = :now");
+        if (basePrice != null) {
+            jpql.append(", p.basePrice = :basePrice");
+        }
+        if (newStatus != null) {
+            jpql.append(", p.status = :newStatus");
+        }
+        if (newCategoryId != null) {
+            jpql.append(", p.categoryId = :newCategoryId");
+        }
+        var query = filter.bind(entityManager.createQuery(jpql.append(filter.where()).toString()))
+                .setParameter("now", now);
+        if (basePrice != null) {
+            query.setParameter("basePrice", basePrice);
+        }
+        if (newStatus != null) {
+            query.setParameter("newStatus", newStatus);
+        }
+        if (newCategoryId != null) {
+            query.setParameter("newCategoryId", newCategoryId);
+        }
+        return executeUpdate(query);
+    }
+
+    @Override
+    public int bulkDelete(UUID categoryId, ProductStatus status) {
+        ProductFilter filter = new ProductFilter(categoryId, status);
+        return executeUpdate(filter.bind(entityManager.createQuery("DELETE FROM Product p" + filter.where())));
+    }
+
+    private <T> Page<T> page(Class<T> type, String select, ProductFilter filter, Pageable pageable) {
+        TypedQuery<T> query = filter.bind(entityManager.createQuery(select + filter.where() + ORDER, type));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> filter.bind(
+                entityManager.createQuery("SELECT COUNT(p) FROM Product p" + filter.where(), Long.class)).getSingleResult());
+    }
+
+    private <T> List<T> keysetPage(Class<T> type, String select, ProductFilter filter,
+                                   LocalDateTime createdAt, UUID id, Pageable limit) {
+        String where = createdAt != null ? filter.where(AFTER) : filter.where();
+        TypedQuery<T> query = filter.bind(entityManager.createQuery(select + where + ORDER, type));
+        if (createdAt != null) {
+            query.setParameter("createdAt", createdAt).setParameter("id", id);
+        }
+        if (limit.isPaged()) {
+            query.setMaxResults(limit.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Runs a bulk statement as @Modifying(flushAutomatically = true, clearAutomatically = true) does
+     */
+    private int executeUpdate(Query query) {
+        entityManager.flush();
+        int affected = query.executeUpdate();
+        entityManager.clear();
+        return affected;
+    }
+}
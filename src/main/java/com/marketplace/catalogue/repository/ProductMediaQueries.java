@@ -0,0 +1,13 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductStatus;
+
+import java.util.UUID;
+
+/**
+ * Media queries on the products matching optional category and status filters (see ProductFilter)
+ */
+public interface ProductMediaQueries {
+
+    int deleteByProductFilter(UUID categoryId, ProductStatus status);
+}
@@ -0,0 +1,23 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+class ProductMediaQueriesImpl implements ProductMediaQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int deleteByProductFilter(UUID categoryId, ProductStatus status) {
+        ProductFilter filter = new ProductFilter(categoryId, status);
+        return filter.bind(entityManager.createQuery(
+                "DELETE FROM ProductMedia m WHERE m.productId IN (SELECT p.id FROM Product p" + filter.where() + ")"))
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,29 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductMedia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProductMediaRepository extends JpaRepository<ProductMedia, String>, ProductMediaQueries {
+
+    List<ProductMedia> findByProductId(UUID productId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductMedia m WHERE m.mediaId IN :mediaIds")
+    int deleteByMediaIds(@Param("mediaIds") Collection<String> mediaIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProductMedia m WHERE m.productId IN :productIds")
+    int deleteByProductIds(@Param("productIds") Collection<UUID> productIds);
+}
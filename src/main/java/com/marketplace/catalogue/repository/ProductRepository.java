@@ -3,15 +3,19 @@ package com.marketplace.catalogue.repository;
 import com.marketplace.catalogue.model.Product;
 import com.marketplace.catalogue.model.ProductStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductFilterQueries {
 
     Optional<Product> findById(UUID id);
 
@@ -22,7 +26,27 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId AND p.status = :status")
     List<Product> findByCategoryIdAndStatus(@Param("categoryId") UUID categoryId, @Param("status") ProductStatus status);
 
-
     void deleteById(UUID id);
 
+    // Bulk changes of the products given by ID, each in one statement. Null values are left unchanged;
+    // updatedAt is set explicitly as bulk statements bypass @UpdateTimestamp. The IDs are bound in chunks
+    // (see ProductServiceImpl.ID_CHUNK_SIZE); the products selected by filter are changed set-based
+    // (see ProductFilterQueries).
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.basePrice = COALESCE(:basePrice, p.basePrice), " +
+            "p.status = COALESCE(:newStatus, p.status), p.categoryId = COALESCE(:newCategoryId, p.categoryId), " +
+            "p.updatedAt = :now " +
+            "WHERE p.id IN :ids")
+    int bulkUpdateById(@Param("ids") Collection<UUID> ids,
+                       @Param("basePrice") Double basePrice, @Param("newStatus") ProductStatus newStatus,
+                       @Param("newCategoryId") UUID newCategoryId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int bulkDeleteById(@Param("ids") Collection<UUID> ids);
+
 }
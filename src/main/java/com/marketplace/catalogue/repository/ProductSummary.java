@@ -0,0 +1,26 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the product columns needed to build a ProductMeta without its description,
+ * so that the TEXT column is not read when listing products
+ */
+public interface ProductSummary {
+    UUID getId();
+
+    String getName();
+
+    Double getBasePrice();
+
+    UUID getCategoryId();
+
+    ProductStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,21 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.ProductStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * ProductSummary read by the constructor expression of the filtered product queries
+ */
+@Value
+public class ProductSummaryRow implements ProductSummary {
+    UUID id;
+    String name;
+    Double basePrice;
+    UUID categoryId;
+    ProductStatus status;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+}
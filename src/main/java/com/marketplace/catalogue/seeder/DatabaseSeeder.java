@@ -1,5 +1,6 @@
 package com.marketplace.catalogue.seeder;
 
+import com.marketplace.catalogue.cache.CategoryDictionary;
 import com.marketplace.catalogue.model.Category;
 import com.marketplace.catalogue.model.Product;
 import com.marketplace.catalogue.model.ProductStatus;
@@ -16,10 +17,13 @@ public class DatabaseSeeder implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
 
-    public DatabaseSeeder(CategoryRepository categoryRepository, ProductRepository productRepository) {
+    public DatabaseSeeder(CategoryRepository categoryRepository, ProductRepository productRepository,
+                          CategoryDictionary categoryDictionary) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
     }
 
     @Override
@@ -35,6 +39,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         // Create categories
         List<Category> categories = createCategories();
         categoryRepository.saveAll(categories);
+        categoryDictionary.reload();
         System.out.println("Created " + categories.size() + " categories");
 
         // Create products
@@ -0,0 +1,19 @@
+package com.marketplace.catalogue.service;
+
+import com.marketplace.catalogue.dto.ProductImportReport;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    /**
+     * Creates the products of an upload, reading it as it arrives
+     * @param content the upload: CSV with a header line, newline-delimited JSON or a JSON array
+     * @param contentType text/csv, application/x-ndjson or application/json
+     * @return the outcome of each row
+     * @throws IllegalArgumentException if the upload is not well-formed
+     */
+    ProductImportReport importProducts(InputStream content, MediaType contentType) throws IOException;
+}
@@ -1,5 +1,8 @@
 package com.marketplace.catalogue.service;
 
+import com.marketplace.catalogue.dto.PageResponse;
+import com.marketplace.catalogue.dto.ProductBulkResult;
+import com.marketplace.catalogue.dto.ProductBulkUpdate;
 import com.marketplace.catalogue.dto.ProductDetails;
 import com.marketplace.catalogue.dto.ProductInput;
 import com.marketplace.catalogue.dto.ProductMeta;
@@ -7,6 +10,7 @@ import com.marketplace.catalogue.model.ProductStatus;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ProductService {
     ProductDetails getProductDetails(UUID productId);
@@ -17,9 +21,41 @@ public interface ProductService {
     
     List<ProductMeta> getAllProductMeta(UUID categoryId, ProductStatus status);
 
+    List<ProductMeta> getAllProductMeta(UUID categoryId, ProductStatus status, boolean includeDescription);
+
+    /**
+     * One page of products, ordered by (createdAt, id). Uses offset pagination when a page
+     * number is given, keyset pagination (starting after the cursor, if any) otherwise.
+     */
+    PageResponse<ProductDetails> getProductDetailsPage(UUID categoryId, ProductStatus status,
+                                                       Integer page, int size, String cursor);
+
+    PageResponse<ProductMeta> getProductMetaPage(UUID categoryId, ProductStatus status,
+                                                 Integer page, int size, String cursor,
+                                                 boolean includeDescription);
+
+    /**
+     * Streams the products with complete details, ordered by (createdAt, id). Products are read
+     * from the database one keyset page at a time and enriched chunk by chunk, and handed to the
+     * consumer as soon as their chunk is enriched, so memory use does not grow with the catalogue size
+     * and no database connection is held between pages.
+     */
+    void streamProductDetails(UUID categoryId, ProductStatus status, Consumer<ProductDetails> consumer);
+
     ProductDetails createProduct(ProductInput input);
     
     ProductDetails updateProduct(UUID productId, ProductInput input);
     
     boolean deleteProduct(UUID productId);
+
+    /**
+     * Applies the same changes to a set of products in one statement; inventory and discount are queued
+     * for the downstream services only when they are part of the changes
+     */
+    ProductBulkResult updateProducts(ProductBulkUpdate update);
+
+    /**
+     * Deletes the products given by ID, or those matching the filters, in one statement
+     */
+    ProductBulkResult deleteProducts(List<UUID> productIds, UUID categoryId, ProductStatus status);
 }
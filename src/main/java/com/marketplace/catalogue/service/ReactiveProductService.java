@@ -0,0 +1,30 @@
+package com.marketplace.catalogue.service;
+
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductMeta;
+import com.marketplace.catalogue.model.ProductStatus;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Non-blocking variant of the product read operations of {@link ProductService}.
+ * Database queries run on a dedicated scheduler, downstream calls on Reactor Netty,
+ * so no caller thread is held while a product is being enriched.
+ */
+public interface ReactiveProductService {
+    /**
+     * @return Mono emitting the product details, or empty if the product does not exist
+     */
+    Mono<ProductDetails> getProductDetails(UUID productId);
+
+    /**
+     * @return Mono emitting the product metadata, or empty if the product does not exist
+     */
+    Mono<ProductMeta> getProductMeta(UUID productId);
+
+    Mono<List<ProductDetails>> getAllProductDetails(UUID categoryId, ProductStatus status);
+
+    Mono<List<ProductMeta>> getAllProductMeta(UUID categoryId, ProductStatus status);
+}
@@ -0,0 +1,24 @@
+package com.marketplace.catalogue.service.enrichment;
+
+import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.dto.Reviews;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data collected from the downstream services for one product.
+ * Any field may be null when its source is unavailable or did not answer in time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductEnrichment {
+    private String thumbnailUrl;
+    private List<String> mediaUrls;
+    private Integer inventory;
+    private Discount discount;
+    private Reviews reviews;
+}
@@ -0,0 +1,179 @@
+package com.marketplace.catalogue.service.enrichment;
+
+import com.marketplace.catalogue.client.DownstreamGuard;
+import com.marketplace.catalogue.client.EchoServiceClient;
+import com.marketplace.catalogue.client.MetronomeServiceClient;
+import com.marketplace.catalogue.client.OrnamentoServiceClient;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.config.EnrichmentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Fans out the downstream calls needed to enrich a product and combines their results.
+ * All calls are subscribed at the same time and share one latency budget, so the cost of
+ * a product page is the slowest call instead of the sum of all of them.
+ *
+ * Each fan-out is traced as an "enrich product" span (enrichment), with one child span per
+ * source (enrichment.source) under which the HTTP client spans of the downstream call appear.
+ */
+@Component
+public class ProductEnrichmentAggregator {
+
+    private final ScenaServiceClient scenaServiceClient;
+    private final MetronomeServiceClient metronomeServiceClient;
+    private final OrnamentoServiceClient ornamentoServiceClient;
+    private final EchoServiceClient echoServiceClient;
+    private final EnrichmentProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public ProductEnrichmentAggregator(ScenaServiceClient scenaServiceClient,
+                                       MetronomeServiceClient metronomeServiceClient,
+                                       OrnamentoServiceClient ornamentoServiceClient,
+                                       EchoServiceClient echoServiceClient,
+                                       EnrichmentProperties properties,
+                                       MeterRegistry meterRegistry,
+                                       ObservationRegistry observationRegistry) {
+        this.scenaServiceClient = scenaServiceClient;
+        this.metronomeServiceClient = metronomeServiceClient;
+        this.ornamentoServiceClient = ornamentoServiceClient;
+        this.echoServiceClient = echoServiceClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Fetches thumbnail, media, inventory, discount and reviews of a product in parallel
+     * @param productId the product ID
+     * @return Mono emitting the enrichment, with null fields for sources that failed or missed the budget
+     */
+    public Mono<ProductEnrichment> enrich(UUID productId) {
+        Duration budget = properties.getLatencyBudget();
+        Observation enrichment = Observation.createNotStarted("enrichment", observationRegistry)
+                .contextualName("enrich product");
+        return observed(enrichment, () -> Mono.zip(
+                        withinBudget("thumbnail", () -> scenaServiceClient.fetchThumbnailUrl(productId), budget),
+                        withinBudget("media", () -> scenaServiceClient.fetchProductMediaUrls(productId), budget),
+                        withinBudget("inventory", () -> metronomeServiceClient.fetchProductInventory(productId), budget),
+                        withinBudget("discount", () -> ornamentoServiceClient.fetchProductDiscount(productId), budget),
+                        withinBudget("reviews", () -> echoServiceClient.fetchProductReviews(productId), budget)))
+                .map(results -> new ProductEnrichment(
+                        results.getT1().orElse(null),
+                        results.getT2().orElse(null),
+                        results.getT3().orElse(null),
+                        results.getT4().orElse(null),
+                        results.getT5().orElse(null)));
+    }
+
+    /**
+     * Fetches only the thumbnail URL of a product, within the same latency budget
+     * @param productId the product ID
+     * @return Mono emitting the thumbnail URL, empty if unavailable
+     */
+    public Mono<String> thumbnailUrl(UUID productId) {
+        return withinBudget("thumbnail", () -> scenaServiceClient.fetchThumbnailUrl(productId), properties.getLatencyBudget())
+                .mapNotNull(thumbnail -> thumbnail.orElse(null));
+    }
+
+    /**
+     * Enriches a list of products: each lookup is sent as one bounded concurrent batch,
+     * and the five batches run in parallel within the same latency budget as a single product
+     * @param productIds the product IDs
+     * @return Mono emitting the enrichment of every requested product, keyed by product ID
+     * (with null fields for the lookups that failed or whose batch missed the budget)
+     */
+    public Mono<Map<UUID, ProductEnrichment>> enrichAll(Collection<UUID> productIds) {
+        int concurrency = properties.getBatchConcurrency();
+        Duration budget = properties.getLatencyBudget();
+        return Mono.zip(
+                        batchWithinBudget("thumbnail", () -> scenaServiceClient.fetchThumbnailUrls(productIds, concurrency), budget),
+                        batchWithinBudget("media", () -> scenaServiceClient.fetchProductMediaUrls(productIds, concurrency), budget),
+                        batchWithinBudget("inventory", () -> metronomeServiceClient.fetchProductInventories(productIds, concurrency), budget),
+                        batchWithinBudget("discount", () -> ornamentoServiceClient.fetchProductDiscounts(productIds, concurrency), budget),
+                        batchWithinBudget("reviews", () -> echoServiceClient.fetchProductReviews(productIds, concurrency), budget))
+                .map(results -> {
+                    Map<UUID, ProductEnrichment> enrichments = new HashMap<>();
+                    for (UUID productId : productIds) {
+                        enrichments.put(productId, new ProductEnrichment(
+                                results.getT1().get(productId),
+                                results.getT2().get(productId),
+                                results.getT3().get(productId),
+                                results.getT4().get(productId),
+                                results.getT5().get(productId)));
+                    }
+                    return enrichments;
+                });
+    }
+
+    /**
+     * Fetches the thumbnail URLs of a list of products as one bounded concurrent batch, within the latency budget
+     * @param productIds the product IDs
+     * @return Mono emitting the thumbnail URLs by product ID (products without thumbnail are absent)
+     */
+    public Mono<Map<UUID, String>> thumbnailUrls(Collection<UUID> productIds) {
+        return batchWithinBudget("thumbnail",
+                () -> scenaServiceClient.fetchThumbnailUrls(productIds, properties.getBatchConcurrency()),
+                properties.getLatencyBudget());
+    }
+
+    /**
+     * Same as withinBudget for a batch lookup: a batch that fails or misses the budget yields no value at all
+     */
+    private <T> Mono<Map<UUID, T>> batchWithinBudget(String field, Supplier<Mono<Map<UUID, T>>> call, Duration budget) {
+        return withinBudget(field, call, budget).map(values -> values.orElse(Map.of()));
+    }
+
+    /**
+     * Turns a downstream call into one that always completes with a value before the budget
+     * expires: an empty Optional stands for "no data", "service unavailable" and "too slow" alike.
+     * The last two are counted by the enrichment.degraded counter.
+     * The call is made in its own enrichment.source span.
+     */
+    private <T> Mono<Optional<T>> withinBudget(String field, Supplier<Mono<T>> call, Duration budget) {
+        Observation source = Observation.createNotStarted("enrichment.source", observationRegistry)
+                .contextualName("enrich " + field)
+                .lowCardinalityKeyValue("field", field);
+        return observed(source, call).map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .timeout(budget)
+                .onErrorResume(error -> {
+                    meterRegistry.counter("enrichment.degraded", "field", field, "reason", DownstreamGuard.outcome(error))
+                            .increment();
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    /**
+     * Runs a call in the scope of an observation, which ends when the call completes.
+     * Cached lookups start as soon as they are requested (see CaffeineEnrichmentCache), so the observation
+     * is made current while the call is created, and put in the Reactor context for lazy calls.
+     */
+    private <T> Mono<T> observed(Observation observation, Supplier<Mono<T>> call) {
+        observation.start();
+        Mono<T> mono;
+        try (Observation.Scope scope = observation.openScope()) {
+            mono = call.get();
+        } catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+        return mono.doOnError(observation::error)
+                .doFinally(signal -> observation.stop())
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+    }
+}
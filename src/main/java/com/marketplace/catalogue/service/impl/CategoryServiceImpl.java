@@ -1,12 +1,16 @@
 package com.marketplace.catalogue.service.impl;
 
+import com.marketplace.catalogue.cache.CategoryChangedEvent;
+import com.marketplace.catalogue.cache.CategoryDictionary;
 import com.marketplace.catalogue.dto.CategoryInput;
 import com.marketplace.catalogue.dto.CategoryResponse;
 import com.marketplace.catalogue.model.Category;
 import com.marketplace.catalogue.repository.CategoryRepository;
 import com.marketplace.catalogue.service.CategoryService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -18,27 +22,33 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
     
     private final CategoryRepository categoryRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public CategoryServiceImpl(CategoryRepository categoryRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository,
+                               CategoryDictionary categoryDictionary,
+                               ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.eventPublisher = eventPublisher;
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<CategoryResponse> getAllCategories() {
-        return categoryRepository.findAllActive()
+        // Served from the in-memory dictionary, without touching the database
+        return categoryDictionary.all()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public CategoryResponse getCategoryById(UUID categoryId) {
-        Category category = categoryRepository.findByIdAndNotDeleted(categoryId)
+        return categoryDictionary.find(categoryId)
+                .map(this::mapToResponse)
                 .orElse(null);
-        
-        return category != null ? mapToResponse(category) : null;
     }
     
     @Override
@@ -55,6 +65,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         try {
             Category savedCategory = categoryRepository.save(category);
+            eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
             return mapToResponse(savedCategory);
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Category with name '" + input.getName() + "' already exists");
@@ -82,6 +93,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         try {
             Category updatedCategory = categoryRepository.save(existingCategory);
+            eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
             return mapToResponse(updatedCategory);
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Category with name '" + input.getName() + "' already exists");
@@ -107,6 +119,7 @@ public class CategoryServiceImpl implements CategoryService {
         
         // Perform soft delete
         int deletedRows = categoryRepository.softDeleteById(categoryId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
         return deletedRows > 0;
     }
     
@@ -119,4 +132,14 @@ public class CategoryServiceImpl implements CategoryService {
         response.setUpdatedAt(category.getUpdatedAt());
         return response;
     }
+
+    private CategoryResponse mapToResponse(CategoryDictionary.Entry category) {
+        CategoryResponse response = new CategoryResponse();
+        response.setId(category.id());
+        response.setName(category.name());
+        response.setIsDeleted(false);
+        response.setCreatedAt(category.createdAt());
+        response.setUpdatedAt(category.updatedAt());
+        return response;
+    }
 }
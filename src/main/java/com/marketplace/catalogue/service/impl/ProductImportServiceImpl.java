@@ -0,0 +1,322 @@
+package com.marketplace.catalogue.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.config.ProductImportProperties;
+import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.dto.ProductImportReport;
+import com.marketplace.catalogue.dto.ProductImportRow;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.outbox.OutboxDispatcher;
+import com.marketplace.catalogue.outbox.ProductOutbox;
+import com.marketplace.catalogue.service.ProductImportService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bulk product creation.
+ *
+ * The upload is read row by row and never held in memory: valid rows are gathered in chunks, each
+ * chunk being inserted in one transaction (JDBC batches, see hibernate.jdbc.batch_size) together with
+ * the outbox messages of its inventories and discounts. Once a chunk is committed its messages are
+ * sent right away by the OutboxDispatcher while the next chunks are read and saved; the number of
+ * chunks being sent is bounded, so that a large import does not outrun the downstream services.
+ * Messages not delivered by the end of the import are left to the regular outbox polling.
+ *
+ * Upload content that cannot be parsed stops the import where it is: the rows read before it are saved
+ * and reported as usual (the chunks already committed stay committed), the unreadable row is reported
+ * rejected and the report says that the rows after it were not read.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductOutbox productOutbox;
+    private final OutboxDispatcher outboxDispatcher;
+    private final CategoryDictionary categoryDictionary;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final ProductImportProperties properties;
+
+    public ProductImportServiceImpl(EntityManager entityManager,
+                                    PlatformTransactionManager transactionManager,
+                                    ProductOutbox productOutbox,
+                                    OutboxDispatcher outboxDispatcher,
+                                    CategoryDictionary categoryDictionary,
+                                    Validator validator,
+                                    ObjectMapper objectMapper,
+                                    ProductImportProperties properties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productOutbox = productOutbox;
+        this.outboxDispatcher = outboxDispatcher;
+        this.categoryDictionary = categoryDictionary;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+        this.properties = properties;
+    }
+
+    @Override
+    public ProductImportReport importProducts(InputStream content, MediaType contentType) throws IOException {
+        long start = System.nanoTime();
+        List<ProductImportReport.RowResult> results = new ArrayList<>();
+        Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+        List<PendingRow> chunk = new ArrayList<>(properties.getChunkSize());
+        String error = null;
+
+        try (MappingIterator<JsonNode> rows = read(content, contentType)) {
+            int row = 0;
+            while (true) {
+                JsonNode node;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    node = rows.nextValue();
+                } catch (IOException e) {
+                    if (row == 0) {
+                        // Nothing could be read: the upload is rejected as a whole
+                        throw new IllegalArgumentException("Malformed import content: " + e.getMessage(), e);
+                    }
+                    ProductImportReport.RowResult result = new ProductImportReport.RowResult();
+                    result.setRow(++row);
+                    results.add(result);
+                    reject(result, List.of("Malformed import content: " + e.getMessage()));
+                    error = "Malformed import content at row " + row + ", the rows after it were not read";
+                    break;
+                }
+                ProductImportReport.RowResult result = new ProductImportReport.RowResult();
+                result.setRow(++row);
+                results.add(result);
+                if (row > properties.getMaxRows()) {
+                    reject(result, List.of("Import limited to " + properties.getMaxRows() + " rows"));
+                    continue;
+                }
+                ProductImportRow input = convert(node, result);
+                if (input == null) {
+                    continue;
+                }
+                List<String> errors = validate(input);
+                if (!errors.isEmpty()) {
+                    reject(result, errors);
+                    continue;
+                }
+                chunk.add(new PendingRow(input, result));
+                if (chunk.size() == properties.getChunkSize()) {
+                    save(chunk, inFlight);
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                save(chunk, inFlight);
+            }
+        } finally {
+            // Whatever is not sent yet is retried by the outbox polling
+            inFlight.forEach(CompletableFuture::join);
+        }
+
+        ProductImportReport report = new ProductImportReport();
+        report.setTotal(results.size());
+        report.setCreated(count(results, "created"));
+        report.setRejected(count(results, "rejected"));
+        report.setFailed(count(results, "failed"));
+        report.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+        report.setError(error);
+        report.setRows(results);
+        return report;
+    }
+
+    private MappingIterator<JsonNode> read(InputStream content, MediaType contentType) throws IOException {
+        if (contentType != null && TEXT_CSV.includes(contentType)) {
+            return csvMapper.readerFor(JsonNode.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(content);
+        }
+        if (contentType == null || MediaType.APPLICATION_JSON.includes(contentType)
+                || APPLICATION_NDJSON.includes(contentType)) {
+            // A root-level array is iterated over element by element, as newline-delimited values are
+            return objectMapper.readerFor(JsonNode.class).readValues(content);
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+
+    /**
+     * @return the row, null if it could not be read (the result is then marked rejected)
+     */
+    private ProductImportRow convert(JsonNode node, ProductImportReport.RowResult result) {
+        if (!node.isObject()) {
+            reject(result, List.of("Row must be an object"));
+            return null;
+        }
+        try {
+            return objectMapper.treeToValue(withoutBlanks((ObjectNode) node), ProductImportRow.class);
+        } catch (JsonProcessingException e) {
+            reject(result, List.of(e.getOriginalMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Empty CSV cells are read as nulls, blank ones as blank strings: treat both as absent
+     */
+    private static ObjectNode withoutBlanks(ObjectNode node) {
+        node.properties().removeIf(field -> {
+            JsonNode value = field.getValue();
+            return value.isNull() || value.isTextual() && value.asText().isBlank();
+        });
+        return node;
+    }
+
+    private List<String> validate(ProductImportRow input) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<ProductImportRow> violation : validator.validate(input)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (input.getCategoryId() != null && categoryDictionary.find(input.getCategoryId()).isEmpty()) {
+            errors.add("categoryId: Category not found");
+        }
+        return errors;
+    }
+
+    /**
+     * Inserts a chunk and starts sending its side effects, waiting first for the oldest chunk being
+     * sent if too many are
+     */
+    private void save(List<PendingRow> chunk, Deque<CompletableFuture<Void>> inFlight) {
+        List<Long> messageIds;
+        try {
+            messageIds = transactionTemplate.execute(status -> insert(chunk));
+        } catch (RuntimeException e) {
+            log.warn("Failed to import a chunk of {} products: {}", chunk.size(), e.getMessage());
+            String error = "Could not be saved: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            chunk.forEach(pending -> {
+                pending.result.setStatus("failed");
+                pending.result.setProductId(null);
+                pending.result.setInventory(null);
+                pending.result.setDiscount(null);
+                pending.result.setErrors(List.of(error));
+            });
+            return;
+        }
+
+        while (inFlight.size() >= Math.max(properties.getChunksInFlight(), 1)) {
+            inFlight.removeFirst().join();
+        }
+        inFlight.addLast(outboxDispatcher.dispatchNow(messageIds)
+                .thenAccept(outcomes -> chunk.forEach(pending -> pending.report(outcomes)))
+                .exceptionally(e -> {
+                    log.warn("Failed to send the side effects of {} imported products: {}", chunk.size(), e.getMessage());
+                    return null;
+                }));
+    }
+
+    private List<Long> insert(List<PendingRow> chunk) {
+        List<Long> messageIds = new ArrayList<>(chunk.size() * 2);
+        for (PendingRow pending : chunk) {
+            ProductImportRow input = pending.input;
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName(input.getName());
+            product.setDescription(input.getDescription());
+            product.setCategoryId(input.getCategoryId());
+            product.setStatus(ProductStatus.valueOf(input.getStatus()));
+            product.setBasePrice(input.getBasePrice());
+            entityManager.persist(product);
+            pending.result.setProductId(product.getId());
+        }
+        // Products first, in batches, then their outbox messages
+        entityManager.flush();
+        for (PendingRow pending : chunk) {
+            UUID productId = pending.result.getProductId();
+            pending.inventoryMessage = productOutbox.inventory(productId, pending.input.getInventory(), true);
+            messageIds.add(pending.inventoryMessage);
+            Discount discount = pending.input.toDiscount();
+            if (discount != null) {
+                pending.discountMessage = productOutbox.discount(productId, discount, true);
+                messageIds.add(pending.discountMessage);
+            }
+            pending.result.setStatus("created");
+            pending.result.setInventory("pending");
+            pending.result.setDiscount(discount != null ? "pending" : null);
+        }
+        entityManager.flush();
+        // Do not keep the chunk in the persistence context
+        entityManager.clear();
+        return messageIds;
+    }
+
+    private static void reject(ProductImportReport.RowResult result, List<String> errors) {
+        result.setStatus("rejected");
+        result.setErrors(errors);
+    }
+
+    private static int count(List<ProductImportReport.RowResult> results, String status) {
+        return (int) results.stream().filter(result -> status.equals(result.getStatus())).count();
+    }
+
+    /**
+     * A valid row waiting for its chunk to be saved, then for its side effects to be sent
+     */
+    private static final class PendingRow {
+        private final ProductImportRow input;
+        private final ProductImportReport.RowResult result;
+        private Long inventoryMessage;
+        private Long discountMessage;
+
+        PendingRow(ProductImportRow input, ProductImportReport.RowResult result) {
+            this.input = input;
+            this.result = result;
+        }
+
+        /**
+         * Sets the delivery state of the side effects: delivered, failed, or pending when they are
+         * retried later (or were claimed by the outbox polling)
+         */
+        void report(Map<Long, String> outcomes) {
+            result.setInventory(state(outcomes.get(inventoryMessage)));
+            if (discountMessage != null) {
+                result.setDiscount(state(outcomes.get(discountMessage)));
+            }
+        }
+
+        private static String state(String outcome) {
+            return "delivered".equals(outcome) || "failed".equals(outcome) ? outcome : "pending";
+        }
+    }
+}
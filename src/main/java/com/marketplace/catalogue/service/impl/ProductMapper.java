@@ -0,0 +1,58 @@
+package com.marketplace.catalogue.service.impl;
+
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductMeta;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.repository.ProductSummary;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichment;
+
+/**
+ * Maps products and their downstream enrichment to the API representations
+ */
+final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    static ProductMeta toMeta(Product product, String categoryName, String thumbnailUrl) {
+        ProductMeta productMeta = new ProductMeta();
+        fillMeta(productMeta, product, categoryName);
+        productMeta.setThumbnailUrl(thumbnailUrl);
+        return productMeta;
+    }
+
+    static ProductMeta toMeta(ProductSummary summary, String categoryName, String thumbnailUrl) {
+        ProductMeta productMeta = new ProductMeta();
+        productMeta.setId(summary.getId());
+        productMeta.setName(summary.getName());
+        productMeta.setBasePrice(summary.getBasePrice());
+        productMeta.setStatus(summary.getStatus());
+        productMeta.setCategory(categoryName);
+        productMeta.setThumbnailUrl(thumbnailUrl);
+        productMeta.setUpdatedAt(summary.getUpdatedAt());
+        return productMeta;
+    }
+
+    static ProductDetails toDetails(Product product, String categoryName, ProductEnrichment enrichment) {
+        ProductDetails productDetails = new ProductDetails();
+        fillMeta(productDetails, product, categoryName);
+        if (enrichment != null) {
+            productDetails.setThumbnailUrl(enrichment.getThumbnailUrl());
+            productDetails.setMediaUrls(enrichment.getMediaUrls());
+            productDetails.setInventory(enrichment.getInventory());
+            productDetails.setDiscount(enrichment.getDiscount());
+            productDetails.setReviews(enrichment.getReviews());
+        }
+        return productDetails;
+    }
+
+    private static void fillMeta(ProductMeta target, Product product, String categoryName) {
+        target.setId(product.getId());
+        target.setName(product.getName());
+        target.setDescription(product.getDescription());
+        target.setBasePrice(product.getBasePrice());
+        target.setStatus(product.getStatus());
+        target.setCategory(categoryName);
+        target.setUpdatedAt(product.getUpdatedAt());
+    }
+}
@@ -1,345 +1,527 @@
 package com.marketplace.catalogue.service.impl;
 
-import com.marketplace.catalogue.client.*;
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentSource;
+import com.marketplace.catalogue.cache.ProductChangedEvent;
+import com.marketplace.catalogue.config.EnrichmentProperties;
 import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.dto.PageResponse;
+import com.marketplace.catalogue.dto.ProductBulkResult;
+import com.marketplace.catalogue.dto.ProductBulkUpdate;
 import com.marketplace.catalogue.dto.ProductDetails;
 import com.marketplace.catalogue.dto.ProductInput;
+import com.marketplace.catalogue.dto.ProductCursor;
 import com.marketplace.catalogue.dto.ProductMeta;
-import com.marketplace.catalogue.dto.external.MetronomeInventoryRequest;
-import com.marketplace.catalogue.dto.external.OrnamentoDiscountRequest;
-import com.marketplace.catalogue.dto.external.ScenaUploadResponse;
-import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.model.OutboxMessageType;
 import com.marketplace.catalogue.model.Product;
 import com.marketplace.catalogue.model.ProductStatus;
-import com.marketplace.catalogue.repository.CategoryRepository;
+import com.marketplace.catalogue.outbox.ProductOutbox;
+import com.marketplace.catalogue.outbox.StagedMedia;
 import com.marketplace.catalogue.repository.ProductRepository;
+import com.marketplace.catalogue.repository.ProductSummary;
 import com.marketplace.catalogue.service.ProductService;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichment;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProductServiceImpl implements ProductService {
+    /**
+     * Most product IDs bound to one statement: MySQL allows 65,535 placeholders per statement
+     */
+    static final int ID_CHUNK_SIZE = 1000;
+
     private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
-    private final ScenaServiceClient scenaServiceClient;
-    private final MetronomeServiceClient metronomeServiceClient;
-    private final OrnamentoServiceClient ornamentoServiceClient;
-    private final EchoServiceClient echoServiceClient;
+    private final CategoryDictionary categoryDictionary;
+    private final ProductEnrichmentAggregator enrichmentAggregator;
+    private final EnrichmentCache enrichmentCache;
+    private final EnrichmentProperties enrichmentProperties;
+    private final ObservationRegistry observationRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductOutbox productOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     public ProductServiceImpl(ProductRepository productRepository,
-                              CategoryRepository categoryRepository,
-                              ScenaServiceClient scenaServiceClient,
-                              MetronomeServiceClient metronomeServiceClient,
-                              OrnamentoServiceClient ornamentoServiceClient,
-                              EchoServiceClient echoServiceClient) {
+                              CategoryDictionary categoryDictionary,
+                              ProductEnrichmentAggregator enrichmentAggregator,
+                              EnrichmentCache enrichmentCache,
+                              EnrichmentProperties enrichmentProperties,
+                              ObservationRegistry observationRegistry,
+                              ApplicationEventPublisher eventPublisher,
+                              ProductOutbox productOutbox,
+                              PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
-        this.categoryRepository = categoryRepository;
-        this.scenaServiceClient = scenaServiceClient;
-        this.metronomeServiceClient = metronomeServiceClient;
-        this.ornamentoServiceClient = ornamentoServiceClient;
-        this.echoServiceClient = echoServiceClient;
+        this.categoryDictionary = categoryDictionary;
+        this.enrichmentAggregator = enrichmentAggregator;
+        this.enrichmentCache = enrichmentCache;
+        this.enrichmentProperties = enrichmentProperties;
+        this.observationRegistry = observationRegistry;
+        this.eventPublisher = eventPublisher;
+        this.productOutbox = productOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductDetails getProductDetails(UUID productId) {
-        Product product = productRepository.findById(productId).orElse(null);
+        Product product = lookup("product", () -> productRepository.findById(productId).orElse(null));
         if (product == null) {
             return null;
         }
 
-        ProductDetails productDetails = new ProductDetails();
-        
-        // Set basic product information
-        productDetails.setId(product.getId());
-        productDetails.setName(product.getName());
-        productDetails.setDescription(product.getDescription());
-        productDetails.setBasePrice(product.getBasePrice());
-        productDetails.setStatus(product.getStatus());
-        
-        // Get category name
-        String categoryName = categoryRepository.findByIdAndNotDeleted(product.getCategoryId())
-                .map(Category::getName)
-                .orElse(null);
-        productDetails.setCategory(categoryName);
-        
-        // Get thumbnail URL from SCENA service
-        String thumbnailUrl = scenaServiceClient.getThumbnailUrl(productId);
-        productDetails.setThumbnailUrl(thumbnailUrl);
-        
-        // Get media URLs from SCENA service
-        List<String> mediaUrls = scenaServiceClient.getProductMediaUrls(productId);
-        productDetails.setMediaUrls(mediaUrls);
-        
-        // Get inventory from METRONOME service
-        Integer inventory = metronomeServiceClient.getProductInventory(productId);
-        productDetails.setInventory(inventory);
-        
-        // Get discount from ORNAMENTO service
-        productDetails.setDiscount(ornamentoServiceClient.getProductDiscount(productId));
-        
-        // Get reviews from ECHO service
-        productDetails.setReviews(echoServiceClient.getProductReviews(productId));
-        
-        return productDetails;
+        // Get category name (in-memory dictionary)
+        String categoryName = categoryDictionary.name(product.getCategoryId());
+
+        // Get thumbnail, media (SCENA), inventory (METRONOME), discount (ORNAMENTO)
+        // and reviews (ECHO) in parallel, within a single latency budget
+        ProductEnrichment enrichment = enrichmentAggregator.enrich(productId).block();
+
+        return ProductMapper.toDetails(product, categoryName, enrichment);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductMeta getProductMeta(UUID productId) {
-        Product product = productRepository.findById(productId).orElse(null);
+        Product product = lookup("product", () -> productRepository.findById(productId).orElse(null));
         if (product == null) {
             return null;
         }
 
-        ProductMeta productMeta = new ProductMeta();
-        productMeta.setId(product.getId());
-        productMeta.setName(product.getName());
-        productMeta.setDescription(product.getDescription());
-        productMeta.setBasePrice(product.getBasePrice());
-        productMeta.setStatus(product.getStatus());
-        
-        // Get category name
-        String categoryName = categoryRepository.findByIdAndNotDeleted(product.getCategoryId())
-                .map(Category::getName)
-                .orElse(null);
-        productMeta.setCategory(categoryName);
-        
+        // Get category name (in-memory dictionary)
+        String categoryName = categoryDictionary.name(product.getCategoryId());
+
         // Get thumbnail URL from SCENA service
-        String thumbnailUrl = scenaServiceClient.getThumbnailUrl(productId);
-        productMeta.setThumbnailUrl(thumbnailUrl);
-        
-        return productMeta;
+        String thumbnailUrl = enrichmentAggregator.thumbnailUrl(productId).block();
+
+        return ProductMapper.toMeta(product, categoryName, thumbnailUrl);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProductDetails> getAllProductDetails(UUID categoryId, ProductStatus status) {
-        List<Product> products;
-        
-        if (categoryId != null && status != null) {
-            products = productRepository.findByCategoryIdAndStatus(categoryId, status);
-        } else if (categoryId != null) {
-            products = productRepository.findByCategoryId(categoryId);
-        } else if (status != null) {
-            products = productRepository.findByStatus(status);
-        } else {
-            products = productRepository.findAll();
-        }
-        
-        return products.stream()
-                .map(product -> getProductDetails(product.getId()))
-                .collect(Collectors.toList());
+        return mapToDetailsList(findProducts(categoryId, status));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProductMeta> getAllProductMeta(UUID categoryId, ProductStatus status) {
-        List<Product> products;
-        
-        if (categoryId != null && status != null) {
-            products = productRepository.findByCategoryIdAndStatus(categoryId, status);
-        } else if (categoryId != null) {
-            products = productRepository.findByCategoryId(categoryId);
-        } else if (status != null) {
-            products = productRepository.findByStatus(status);
-        } else {
-            products = productRepository.findAll();
+        return getAllProductMeta(categoryId, status, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductMeta> getAllProductMeta(UUID categoryId, ProductStatus status, boolean includeDescription) {
+        if (includeDescription) {
+            return mapToMetaList(findProducts(categoryId, status));
         }
-        
-        return products.stream()
-                .map(product -> getProductMeta(product.getId()))
-                .collect(Collectors.toList());
+        return mapSummariesToMetaList(productRepository.findSummaries(categoryId, status, Pageable.unpaged()));
     }
 
     @Override
-    @Transactional
-    public ProductDetails createProduct(ProductInput input) {
-        // Create product entity first to get the ID
-        Product product = new Product();
-        product.setId(UUID.randomUUID());
-        product.setName(input.getName());
-        product.setDescription(input.getDescription());
-        product.setCategoryId(input.getCategoryId());
-        product.setStatus(ProductStatus.valueOf(input.getStatus().toLowerCase()));
-        product.setBasePrice(input.getBasePrice());
-
-        // Save product in DB first
-        Product savedProduct = productRepository.save(product);
-        
-        // Upload thumbnail to SCENA service
-        if (input.getThumbnailFile() != null && !input.getThumbnailFile().isEmpty()) {
-            ScenaUploadResponse thumbnailResponse = scenaServiceClient.uploadMediaFile(
-                    input.getThumbnailFile(), savedProduct.getId(), true);
-            if (thumbnailResponse == null) {
-                throw new RuntimeException("Failed to upload thumbnail to media service");
-            }
+    @Transactional(readOnly = true)
+    public PageResponse<ProductDetails> getProductDetailsPage(UUID categoryId, ProductStatus status,
+                                                              Integer page, int size, String cursor) {
+        if (page != null && cursor == null) {
+            Page<Product> products = productRepository.findPage(categoryId, status, PageRequest.of(page, size));
+            return toPageResponse(products, mapToDetailsList(products.getContent()));
         }
 
-        // Upload additional media files to SCENA service (loop through each file)
-        if (input.getMediaFiles() != null && !input.getMediaFiles().isEmpty()) {
-            for (MultipartFile mediaFile : input.getMediaFiles()) {
-                ScenaUploadResponse mediaResponse = scenaServiceClient.uploadMediaFile(
-                        mediaFile, savedProduct.getId(), false);
-                if (mediaResponse == null) {
-                    // Log warning but don't fail the entire operation
-                    System.err.println("Warning: Failed to upload media file " + mediaFile.getOriginalFilename());
-                }
+        List<Product> products = findKeysetPage(categoryId, status, size, cursor);
+        return toKeysetPageResponse(products, size, Product::getCreatedAt, Product::getId, this::mapToDetailsList);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ProductMeta> getProductMetaPage(UUID categoryId, ProductStatus status,
+                                                        Integer page, int size, String cursor,
+                                                        boolean includeDescription) {
+        if (page != null && cursor == null) {
+            if (includeDescription) {
+                Page<Product> products = productRepository.findPage(categoryId, status, PageRequest.of(page, size));
+                return toPageResponse(products, mapToMetaList(products.getContent()));
             }
+            Page<ProductSummary> summaries = productRepository.findSummaryPage(categoryId, status, PageRequest.of(page, size));
+            return toPageResponse(summaries, mapSummariesToMetaList(summaries.getContent()));
         }
 
-        // Send inventory to METRONOME service
-        MetronomeInventoryRequest request = new MetronomeInventoryRequest(
-                savedProduct.getId().toString(),
-                input.getInventory()
-        );
-        boolean result =  metronomeServiceClient.increaseProductInventory(request);
-        if (!result) {
-            throw new RuntimeException("Failed to add product inventory in METRONOME service");
+        if (includeDescription) {
+            List<Product> products = findKeysetPage(categoryId, status, size, cursor);
+            return toKeysetPageResponse(products, size, Product::getCreatedAt, Product::getId, this::mapToMetaList);
         }
 
-        // Send discount to ORNAMENTO service if provided
-        if (input.getDiscount() != null) {
-            OrnamentoDiscountRequest discountRequest = new OrnamentoDiscountRequest(
-                    savedProduct.getId().toString(),
-                    input.getDiscount().getDiscountPercentage(),
-                    input.getDiscount().getStartDate(),
-                    input.getDiscount().getEndDate()
-            );
-            boolean discountResult = ornamentoServiceClient.addNewProductDiscount(discountRequest);
-            if (!discountResult) {
-                throw new RuntimeException("Failed to add product discount in ORNAMENTO service");
+        // Fetch one extra row to know whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ProductSummary> summaries;
+        if (cursor == null) {
+            summaries = productRepository.findSummaries(categoryId, status, limit);
+        } else {
+            ProductCursor position = ProductCursor.decode(cursor);
+            summaries = productRepository.findSummariesAfter(categoryId, status,
+                    position.getCreatedAt(), position.getId(), limit);
+        }
+        return toKeysetPageResponse(summaries, size, ProductSummary::getCreatedAt, ProductSummary::getId,
+                this::mapSummariesToMetaList);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamProductDetails(UUID categoryId, ProductStatus status, Consumer<ProductDetails> consumer) {
+        // Read page by page with the keyset: no transaction spans the export, so the connection is only
+        // held while a page is read, not while it is enriched and written to the client
+        int chunkSize = enrichmentProperties.getStreamChunkSize();
+        Pageable limit = PageRequest.of(0, chunkSize);
+        List<Product> chunk = productRepository.findFirstKeysetPage(categoryId, status, limit);
+        while (!chunk.isEmpty()) {
+            mapToDetailsList(chunk).forEach(consumer);
+            if (chunk.size() < chunkSize) {
+                break;
             }
+            Product last = chunk.get(chunk.size() - 1);
+            chunk = productRepository.findKeysetPageAfter(categoryId, status, last.getCreatedAt(), last.getId(), limit);
         }
+    }
 
-        
-        // Return full product details
-        return getProductDetails(savedProduct.getId());
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductDetails createProduct(ProductInput input) {
+        // Stage the uploaded files first, outside of the transaction of the write
+        StagedMedia media = productOutbox.stage(input.getThumbnailFile(), input.getMediaFiles());
+        return write(media, () -> {
+            // Create product entity first to get the ID
+            Product product = new Product();
+            product.setId(UUID.randomUUID());
+            product.setName(input.getName());
+            product.setDescription(input.getDescription());
+            product.setCategoryId(input.getCategoryId());
+            product.setStatus(ProductStatus.valueOf(input.getStatus().toLowerCase()));
+            product.setBasePrice(input.getBasePrice());
+
+            // Save product in DB
+            Product savedProduct = productRepository.saveAndFlush(product);
+
+            // Record the inventory (METRONOME), discount (ORNAMENTO), thumbnail and media files (SCENA)
+            // in the same transaction: the outbox sends them once committed
+            recordSideEffects(savedProduct.getId(), input, media, true);
+
+            // Drop anything cached for this product, here and on the other nodes
+            enrichmentCache.invalidate(savedProduct.getId());
+            eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId()));
+
+            return accepted(savedProduct, input);
+        });
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductDetails updateProduct(UUID productId, ProductInput input) {
-        Product existingProduct = productRepository.findById(productId).orElse(null);
-        if (existingProduct == null) {
-            return null;
-        }
-        
-        // Update thumbnail if provided by deleting the old one and uploading the new one
-        if (input.getThumbnailFile() != null && !input.getThumbnailFile().isEmpty()) {
-            // Delete old thumbnail from SCENA service by getting the existing thumbnail ID
-            String existingThumbnailId = scenaServiceClient.getThumbnailUrl(productId);
-            if (existingThumbnailId != null) {
-                boolean result = scenaServiceClient.deleteMedia(existingThumbnailId);
-                if (!result) {
-                    throw new RuntimeException("Failed to delete old thumbnail from media service");
-                }
+        // Stage the uploaded files first, outside of the transaction of the write
+        StagedMedia media = productOutbox.stage(input.getThumbnailFile(), input.getMediaFiles());
+        return write(media, () -> {
+            Product existingProduct = productRepository.findById(productId).orElse(null);
+            if (existingProduct == null) {
+                return null;
             }
-            ScenaUploadResponse thumbnailResponse = scenaServiceClient.uploadMediaFile(
-                    input.getThumbnailFile(), productId, true);
-            if (thumbnailResponse == null) {
-                throw new RuntimeException("Failed to upload new thumbnail to media service");
+
+            // Update product fields
+            existingProduct.setName(input.getName());
+            existingProduct.setDescription(input.getDescription());
+            existingProduct.setCategoryId(input.getCategoryId());
+            existingProduct.setStatus(ProductStatus.valueOf(input.getStatus().toLowerCase()));
+            existingProduct.setBasePrice(input.getBasePrice());
+
+            // Save updated product
+            Product updatedProduct = productRepository.saveAndFlush(existingProduct);
+
+            // Record the new inventory and discount, and the thumbnail and media files replacing the current
+            // ones, in the same transaction: the outbox sends them once committed
+            recordSideEffects(productId, input, media, false);
+
+            // Media and discount may have changed: drop the cached values, here and on the other nodes
+            enrichmentCache.invalidate(productId);
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+
+            return accepted(updatedProduct, input);
+        });
+    }
+
+    /**
+     * Runs a product write in its transaction, and discards its staged files unless it is committed
+     * @return the written product, null if there was nothing to write (unknown product)
+     */
+    private ProductDetails write(StagedMedia media, Supplier<ProductDetails> write) {
+        ProductDetails written = null;
+        try {
+            written = transactionTemplate.execute(status -> write.get());
+            return written;
+        } finally {
+            if (written == null) {
+                productOutbox.discard(media);
             }
         }
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteProduct(UUID productId) {
+        if (!productRepository.existsById(productId)) {
+            return false;
+        }
         
-        // Update media files if provided by deleting old ones and uploading new ones
-        if (input.getMediaFiles() != null && !input.getMediaFiles().isEmpty()) {
-            //Get all existing media files for the product
-            List<String> existingMediaIds = scenaServiceClient.getProductMediaIds(productId);
-
-            // Delete old media files from SCENA service
-            for (String mediaId : existingMediaIds) {
-                boolean result = scenaServiceClient.deleteMedia(mediaId);
-                if (!result) {
-                    throw new RuntimeException("Failed to delete old media file from media service");
-                }
-            }
+        productRepository.deleteById(productId);
+        productOutbox.forgetMedia(List.of(productId));
+        enrichmentCache.invalidate(productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return true;
+    }
 
-            // Upload new media file to SCENA service
-            for (MultipartFile mediaFile : input.getMediaFiles()) {
-                ScenaUploadResponse mediaResponse = scenaServiceClient.uploadMediaFile(
-                        mediaFile, productId, false);
-                if (mediaResponse == null) {
-                    throw new RuntimeException("Failed to upload new media file to media service");
-                }
-            }
+    @Override
+    @Transactional
+    public ProductBulkResult updateProducts(ProductBulkUpdate update) {
+        ProductBulkUpdate.Changes changes = update.getChanges();
+        if (changes.getCategoryId() != null && categoryDictionary.find(changes.getCategoryId()).isEmpty()) {
+            throw new IllegalArgumentException("Catégorie non trouvée avec l'ID: " + changes.getCategoryId());
         }
+        ProductStatus status = update.getStatus() != null ? ProductStatus.valueOf(update.getStatus()) : null;
+        ProductStatus newStatus = changes.getStatus() != null ? ProductStatus.valueOf(changes.getStatus()) : null;
+        boolean localChanges = changes.getBasePrice() != null || newStatus != null || changes.getCategoryId() != null;
+        boolean downstreamChanges = changes.getInventory() != null || changes.getDiscount() != null;
+        LocalDateTime now = LocalDateTime.now();
 
-        // Update inventory in METRONOME service by calculating the difference
-        Integer currentInventory = metronomeServiceClient.getProductInventory(productId);
-        if (currentInventory == null) {
-            throw new RuntimeException("Failed to retrieve current inventory from METRONOME service");
+        if (!downstreamChanges) {
+            // Local fields only: one statement (per chunk of IDs), no downstream call
+            int affected = update.isById()
+                    ? chunks(update.getProductIds()).stream()
+                            .mapToInt(ids -> productRepository.bulkUpdateById(ids, changes.getBasePrice(), newStatus, changes.getCategoryId(), now))
+                            .sum()
+                    : productRepository.bulkUpdate(update.getCategoryId(), status, changes.getBasePrice(), newStatus, changes.getCategoryId(), now);
+            return new ProductBulkResult(affected, 0, 0);
         }
-        int inventoryDifference = input.getInventory() - currentInventory;
-        if (inventoryDifference > 0) {
-            MetronomeInventoryRequest inventoryRequest = new MetronomeInventoryRequest(
-                    productId.toString(),
-                    inventoryDifference
-            );
-            boolean inventoryResult = metronomeServiceClient.increaseProductInventory(inventoryRequest);
-            if (!inventoryResult) {
-                throw new RuntimeException("Failed to increase product inventory in METRONOME service");
-            }
+
+        // The downstream changes are recorded per product: select the products first, then update them
+        List<UUID> productIds = update.isById()
+                ? findExistingIds(update.getProductIds())
+                : productRepository.findIds(update.getCategoryId(), status);
+        if (productIds.isEmpty()) {
+            return new ProductBulkResult(0, 0, 0);
         }
-        else if (inventoryDifference < 0) {
-            // If inventory is decreasing, we need to handle it accordingly
-            MetronomeInventoryRequest inventoryRequest = new MetronomeInventoryRequest(
-                    productId.toString(),
-                    Math.abs(inventoryDifference)
-            );
-            boolean inventoryResult = metronomeServiceClient.decreaseProductInventory(inventoryRequest);
-            if (!inventoryResult) {
-                throw new RuntimeException("Failed to decrease product inventory in METRONOME service");
+        if (localChanges) {
+            if (update.isById()) {
+                chunks(productIds).forEach(ids -> productRepository.bulkUpdateById(ids, changes.getBasePrice(), newStatus, changes.getCategoryId(), now));
+            } else {
+                productRepository.bulkUpdate(update.getCategoryId(), status, changes.getBasePrice(), newStatus, changes.getCategoryId(), now);
             }
         }
-        // If inventory is unchanged, we do nothing
-
-        // Update discount in ORNAMENTO service if provided by deleting the old one and adding the new one
-        if (input.getDiscount() != null) {
-            // Get existing discount from ORNAMENTO service
-            Long existingDiscountId = ornamentoServiceClient.getProductDiscountId(productId);
-
-            // Update discount
-            OrnamentoDiscountRequest discountRequest = new OrnamentoDiscountRequest(
-                    productId.toString(),
-                    input.getDiscount().getDiscountPercentage(),
-                    input.getDiscount().getStartDate(),
-                    input.getDiscount().getEndDate()
-            );
-            boolean discountResult = ornamentoServiceClient.updateProductDiscount(productId.toString(), discountRequest);
-            if (!discountResult) {
-                throw new RuntimeException("Failed to add new product discount in ORNAMENTO service");
+        // Sent in batches by the outbox, which invalidates each product once its changes are delivered
+        int inventoryUpdates = 0;
+        int discountUpdates = 0;
+        for (UUID productId : productIds) {
+            if (changes.getInventory() != null) {
+                productOutbox.inventory(productId, changes.getInventory(), false);
+                inventoryUpdates++;
+            }
+            if (changes.getDiscount() != null) {
+                productOutbox.discount(productId, changes.getDiscount(), false);
+                discountUpdates++;
             }
         }
-
-        // Update product fields
-        existingProduct.setName(input.getName());
-        existingProduct.setDescription(input.getDescription());
-        existingProduct.setCategoryId(input.getCategoryId());
-        existingProduct.setStatus(ProductStatus.valueOf(input.getStatus().toUpperCase()));
-        existingProduct.setBasePrice(input.getBasePrice());
-        
-        // Save updated product
-        Product updatedProduct = productRepository.save(existingProduct);
-        
-        // Return full product details
-        return getProductDetails(updatedProduct.getId());
+        return new ProductBulkResult(productIds.size(), inventoryUpdates, discountUpdates);
     }
 
     @Override
     @Transactional
-    public boolean deleteProduct(UUID productId) {
-        if (!productRepository.existsById(productId)) {
-            return false;
+    public ProductBulkResult deleteProducts(List<UUID> productIds, UUID categoryId, ProductStatus status) {
+        boolean byId = productIds != null && !productIds.isEmpty();
+        // The IDs are read to invalidate the cached products
+        List<UUID> deletedIds = byId ? findExistingIds(productIds) : productRepository.findIds(categoryId, status);
+        if (deletedIds.isEmpty()) {
+            return new ProductBulkResult(0, 0, 0);
         }
-        
-        productRepository.deleteById(productId);
-        return true;
+        int deleted;
+        if (byId) {
+            chunks(deletedIds).forEach(productOutbox::forgetMedia);
+            deleted = chunks(deletedIds).stream().mapToInt(productRepository::bulkDeleteById).sum();
+        } else {
+            productOutbox.forgetMedia(categoryId, status);
+            deleted = productRepository.bulkDelete(categoryId, status);
+        }
+        for (UUID productId : deletedIds) {
+            enrichmentCache.invalidate(productId);
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        }
+        return new ProductBulkResult(deleted, 0, 0);
+    }
+
+    private List<UUID> findExistingIds(List<UUID> productIds) {
+        return chunks(productIds).stream()
+                .flatMap(ids -> productRepository.findExistingIds(ids).stream())
+                .toList();
+    }
+
+    /**
+     * Splits a list of product IDs in chunks of at most ID_CHUNK_SIZE, bound to one statement each
+     */
+    private static List<List<UUID>> chunks(List<UUID> productIds) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(productIds.subList(from, Math.min(from + ID_CHUNK_SIZE, productIds.size())));
+        }
+        return chunks;
+    }
+
+    private void recordSideEffects(UUID productId, ProductInput input, StagedMedia media, boolean newProduct) {
+        // Not cached (stock moves with every order): the outbox reads it and only sends a non-zero difference
+        productOutbox.inventory(productId, input.getInventory(), newProduct);
+        if (input.getDiscount() != null && (newProduct || discountChanged(productId, input.getDiscount()))) {
+            productOutbox.discount(productId, input.getDiscount(), newProduct);
+        }
+        // An updated product's thumbnail and media files are replaced by the new ones
+        productOutbox.media(productId, media, !newProduct);
+    }
+
+    /**
+     * Compares a requested discount with the current one, as cached from ORNAMENTO. A discount that is
+     * not cached, or about to change (message not sent yet), is considered changed.
+     */
+    private boolean discountChanged(UUID productId, Discount discount) {
+        Discount current = enrichmentCache.getIfPresent(EnrichmentSource.DISCOUNT, productId);
+        return current == null
+                || !Objects.equals(current.getDiscountPercentage(), discount.getDiscountPercentage())
+                || !Objects.equals(current.getStartDate(), discount.getStartDate())
+                || !Objects.equals(current.getEndDate(), discount.getEndDate())
+                || productOutbox.hasPending(productId, OutboxMessageType.discount);
+    }
+
+    /**
+     * Details of a product just written, without waiting for the downstream services: inventory and
+     * discount are the requested ones, thumbnail, media and reviews are not known yet
+     */
+    private ProductDetails accepted(Product product, ProductInput input) {
+        ProductEnrichment enrichment = new ProductEnrichment(null, null, input.getInventory(), input.getDiscount(), null);
+        return ProductMapper.toDetails(product, categoryDictionary.name(product.getCategoryId()), enrichment);
+    }
+
+    /**
+     * Runs a database lookup in its own trace span (catalogue.lookup, tagged with the entity)
+     */
+    private <T> T lookup(String entity, Supplier<T> query) {
+        return Observation.createNotStarted("catalogue.lookup", observationRegistry)
+                .contextualName("find " + entity)
+                .lowCardinalityKeyValue("entity", entity)
+                .observe(query);
+    }
+
+    private List<Product> findProducts(UUID categoryId, ProductStatus status) {
+        if (categoryId != null && status != null) {
+            return productRepository.findByCategoryIdAndStatus(categoryId, status);
+        } else if (categoryId != null) {
+            return productRepository.findByCategoryId(categoryId);
+        } else if (status != null) {
+            return productRepository.findByStatus(status);
+        } else {
+            return productRepository.findAll();
+        }
+    }
+
+    private List<Product> findKeysetPage(UUID categoryId, ProductStatus status, int size, String cursor) {
+        // Fetch one extra row to know whether another page follows
+        Pageable limit = PageRequest.of(0, size + 1);
+        if (cursor == null) {
+            return productRepository.findFirstKeysetPage(categoryId, status, limit);
+        }
+        ProductCursor position = ProductCursor.decode(cursor);
+        return productRepository.findKeysetPageAfter(categoryId, status,
+                position.getCreatedAt(), position.getId(), limit);
+    }
+
+    private List<ProductDetails> mapToDetailsList(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        // Resolve all downstream data with batched calls (category names come from the dictionary)
+        Map<UUID, ProductEnrichment> enrichments = enrichmentAggregator
+                .enrichAll(products.stream().map(Product::getId).toList())
+                .block();
+
+        return products.stream()
+                .map(product -> ProductMapper.toDetails(product,
+                        categoryDictionary.name(product.getCategoryId()),
+                        enrichments.get(product.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private List<ProductMeta> mapToMetaList(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        // Resolve all thumbnails with one batch (category names come from the dictionary)
+        Map<UUID, String> thumbnailUrls = enrichmentAggregator
+                .thumbnailUrls(products.stream().map(Product::getId).toList())
+                .block();
+
+        return products.stream()
+                .map(product -> ProductMapper.toMeta(product,
+                        categoryDictionary.name(product.getCategoryId()),
+                        thumbnailUrls.get(product.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private List<ProductMeta> mapSummariesToMetaList(List<ProductSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, String> thumbnailUrls = enrichmentAggregator
+                .thumbnailUrls(summaries.stream().map(ProductSummary::getId).toList())
+                .block();
+
+        return summaries.stream()
+                .map(summary -> ProductMapper.toMeta(summary,
+                        categoryDictionary.name(summary.getCategoryId()),
+                        thumbnailUrls.get(summary.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static <T> PageResponse<T> toPageResponse(Page<?> page, List<T> items) {
+        return new PageResponse<>(items, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), page.hasNext(), null);
+    }
+
+    private static <R, T> PageResponse<T> toKeysetPageResponse(List<R> rows, int size,
+                                                               Function<R, LocalDateTime> createdAt,
+                                                               Function<R, UUID> id,
+                                                               Function<List<R>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            R last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ProductCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new PageResponse<>(mapper.apply(pageRows), null, size, null, null, hasNext, nextCursor);
     }
 }
@@ -0,0 +1,115 @@
+package com.marketplace.catalogue.service.impl;
+
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.dto.ProductMeta;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.repository.ProductRepository;
+import com.marketplace.catalogue.service.ReactiveProductService;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+@Service
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+    private final ProductRepository productRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ProductEnrichmentAggregator enrichmentAggregator;
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveProductServiceImpl(ProductRepository productRepository,
+                                      CategoryDictionary categoryDictionary,
+                                      ProductEnrichmentAggregator enrichmentAggregator,
+                                      @Qualifier("jdbcScheduler") Scheduler jdbcScheduler) {
+        this.productRepository = productRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.enrichmentAggregator = enrichmentAggregator;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    @Override
+    public Mono<ProductDetails> getProductDetails(UUID productId) {
+        return findProduct(productId)
+                .flatMap(product -> enrichmentAggregator.enrich(productId)
+                        .map(enrichment -> ProductMapper.toDetails(product,
+                                categoryDictionary.name(product.getCategoryId()), enrichment)));
+    }
+
+    @Override
+    public Mono<ProductMeta> getProductMeta(UUID productId) {
+        return findProduct(productId)
+                .flatMap(product -> enrichmentAggregator.thumbnailUrl(productId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .map(thumbnailUrl -> ProductMapper.toMeta(product,
+                                categoryDictionary.name(product.getCategoryId()), thumbnailUrl.orElse(null))));
+    }
+
+    @Override
+    public Mono<List<ProductDetails>> getAllProductDetails(UUID categoryId, ProductStatus status) {
+        return findProducts(categoryId, status)
+                .flatMap(products -> {
+                    if (products.isEmpty()) {
+                        return Mono.just(List.<ProductDetails>of());
+                    }
+                    List<UUID> ids = products.stream().map(Product::getId).toList();
+                    return enrichmentAggregator.enrichAll(ids)
+                            .map(enrichments -> products.stream()
+                                    .map(product -> ProductMapper.toDetails(product,
+                                            categoryDictionary.name(product.getCategoryId()),
+                                            enrichments.get(product.getId())))
+                                    .collect(Collectors.toList()));
+                });
+    }
+
+    @Override
+    public Mono<List<ProductMeta>> getAllProductMeta(UUID categoryId, ProductStatus status) {
+        return findProducts(categoryId, status)
+                .flatMap(products -> {
+                    if (products.isEmpty()) {
+                        return Mono.just(List.<ProductMeta>of());
+                    }
+                    List<UUID> ids = products.stream().map(Product::getId).toList();
+                    return enrichmentAggregator.thumbnailUrls(ids)
+                            .map(thumbnailUrls -> products.stream()
+                                    .map(product -> ProductMapper.toMeta(product,
+                                            categoryDictionary.name(product.getCategoryId()),
+                                            thumbnailUrls.get(product.getId())))
+                                    .collect(Collectors.toList()));
+                });
+    }
+
+    private Mono<Product> findProduct(UUID productId) {
+        return onJdbc(() -> productRepository.findById(productId).orElse(null));
+    }
+
+    private Mono<List<Product>> findProducts(UUID categoryId, ProductStatus status) {
+        return onJdbc(() -> {
+            if (categoryId != null && status != null) {
+                return productRepository.findByCategoryIdAndStatus(categoryId, status);
+            } else if (categoryId != null) {
+                return productRepository.findByCategoryId(categoryId);
+            } else if (status != null) {
+                return productRepository.findByStatus(status);
+            } else {
+                return productRepository.findAll();
+            }
+        });
+    }
+
+    /**
+     * Runs a blocking repository call on the JDBC scheduler; a null result completes empty
+     */
+    private <T> Mono<T> onJdbc(Callable<T> query) {
+        return Mono.fromCallable(query).subscribeOn(jdbcScheduler);
+    }
+}
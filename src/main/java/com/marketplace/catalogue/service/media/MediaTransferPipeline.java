@@ -0,0 +1,128 @@
+package com.marketplace.catalogue.service.media;
+
+import com.marketplace.catalogue.client.DownstreamGuard;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.config.MediaTransferProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uploads and deletes the media files of a product in parallel, with at most
+ * {@code catalogue.media.concurrency} transfers in flight, so that the time taken is about the
+ * slowest transfers rather than the sum of all of them.
+ *
+ * Files are streamed from disk, never buffered in memory. Each finished transfer is logged with
+ * the progress of the batch; a failed transfer does not cancel the others, and the caller gets
+ * one result per file (in the order of the files) to decide what to do with the failures.
+ *
+ * The calls are all built on the calling thread, which must hold the caller's token (see TokenHolder).
+ */
+@Component
+public class MediaTransferPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaTransferPipeline.class);
+
+    private final ScenaServiceClient scenaServiceClient;
+    private final MediaTransferProperties properties;
+
+    public MediaTransferPipeline(ScenaServiceClient scenaServiceClient, MediaTransferProperties properties) {
+        this.scenaServiceClient = scenaServiceClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Uploads media files of a product
+     * @param productId the product ID
+     * @param files the files to upload
+     * @return Mono emitting one result per file, in the order of the files
+     */
+    public Mono<List<MediaTransferResult>> upload(UUID productId, List<MediaFile> files) {
+        Duration timeout = properties.getUploadTimeout();
+        return run(productId, files.stream()
+                .map(file -> transfer(MediaTransferResult.Operation.UPLOAD, file.name(), file.thumbnail(), file.size(),
+                        scenaServiceClient.upload(file.content(), file.name(), file.contentType(), productId,
+                                        file.thumbnail(), timeout, file.idempotencyKey())
+                                .map(response -> Optional.ofNullable(response.getId()))))
+                .toList());
+    }
+
+    /**
+     * Deletes media files of a product (a media that no longer exists counts as deleted)
+     * @param productId the product ID
+     * @param mediaIds the IDs of the media to delete
+     * @param thumbnail whether the media are thumbnails (only used to label the results)
+     * @return Mono emitting one result per media, in the order of the IDs
+     */
+    public Mono<List<MediaTransferResult>> delete(UUID productId, Collection<String> mediaIds, boolean thumbnail) {
+        return run(productId, mediaIds.stream()
+                .map(mediaId -> transfer(MediaTransferResult.Operation.DELETE, mediaId, thumbnail, 0,
+                        scenaServiceClient.removeMedia(mediaId, null).thenReturn(Optional.of(mediaId))))
+                .toList());
+    }
+
+    private Mono<List<MediaTransferResult>> run(UUID productId, List<Mono<MediaTransferResult>> transfers) {
+        if (transfers.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        AtomicInteger completed = new AtomicInteger();
+        return Flux.fromIterable(transfers)
+                .flatMapSequential(transfer -> transfer
+                        .doOnNext(result -> logProgress(productId, result, completed.incrementAndGet(), transfers.size())),
+                        Math.max(1, properties.getConcurrency()))
+                .collectList();
+    }
+
+    /**
+     * @param call the transfer, emitting the media ID if SCENA returned one; empty counts as a failure
+     * @return Mono emitting the result of the transfer (never an error)
+     */
+    private static Mono<MediaTransferResult> transfer(MediaTransferResult.Operation operation, String name,
+                                                      boolean thumbnail, long bytes, Mono<Optional<String>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .map(mediaId -> new MediaTransferResult(operation, name, thumbnail, true, bytes,
+                            Duration.ofNanos(System.nanoTime() - start), mediaId.orElse(null), null))
+                    .switchIfEmpty(Mono.fromSupplier(() -> new MediaTransferResult(operation, name, thumbnail, false,
+                            bytes, Duration.ofNanos(System.nanoTime() - start), null, "empty")))
+                    .onErrorResume(e -> Mono.just(new MediaTransferResult(operation, name, thumbnail, false,
+                            bytes, Duration.ofNanos(System.nanoTime() - start), null, DownstreamGuard.outcome(e))));
+        });
+    }
+
+    private static void logProgress(UUID productId, MediaTransferResult result, int completed, int total) {
+        if (result.success()) {
+            log.info("Product {}: {} {} done ({}/{}, {} bytes in {} ms)", productId,
+                    result.operation().name().toLowerCase(), result.name(), completed, total,
+                    result.bytes(), result.duration().toMillis());
+        } else {
+            log.warn("Product {}: {} {} failed ({}/{}, {} after {} ms)", productId,
+                    result.operation().name().toLowerCase(), result.name(), completed, total,
+                    result.error(), result.duration().toMillis());
+        }
+    }
+
+    /**
+     * A file to upload
+     * @param content the file content, read lazily
+     * @param name the original file name
+     * @param contentType the media type of the file (may be null)
+     * @param size the file size in bytes
+     * @param thumbnail whether the file is the product thumbnail
+     * @param idempotencyKey sent with the upload so that a retried upload is stored once (may be null)
+     */
+    public record MediaFile(Resource content, String name, String contentType, long size, boolean thumbnail,
+                            String idempotencyKey) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.marketplace.catalogue.service.media;
+
+import java.time.Duration;
+
+/**
+ * Outcome of the transfer of one media file to SCENA
+ * @param operation upload of a new file or deletion of an old one
+ * @param name the original file name (upload) or the media ID (deletion)
+ * @param thumbnail whether the file is the product thumbnail
+ * @param success whether the transfer succeeded
+ * @param bytes the size of the uploaded file (0 for a deletion)
+ * @param duration the time the transfer took
+ * @param mediaId the ID of the media in SCENA, null if an upload failed
+ * @param error the failure reason (timeout, rejected or error), null on success
+ */
+public record MediaTransferResult(Operation operation, String name, boolean thumbnail, boolean success,
+                                  long bytes, Duration duration, String mediaId, String error) {
+
+    public enum Operation {
+        UPLOAD, DELETE
+    }
+}
@@ -0,0 +1,52 @@
+-- Schema as previously created by Hibernate (ddl-auto=update). Databases created that way already have
+-- these tables: each statement is then a no-op, and the later versions apply on top of them.
+
+CREATE TABLE IF NOT EXISTS categories (
+    id BINARY(16) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    is_deleted BIT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKt8o6pivur7nn124jehx7cygw5 UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id BINARY(16) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    category_id BINARY(16) NOT NULL,
+    base_price FLOAT(53) NOT NULL,
+    status ENUM('available', 'deleted', 'out_of_stock') NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    aggregate_id BINARY(16) NOT NULL,
+    type ENUM('discount', 'inventory', 'media') NOT NULL,
+    payload TEXT NOT NULL,
+    idempotency_key BINARY(16) NOT NULL,
+    auth_token VARCHAR(2048),
+    status ENUM('failed', 'pending') NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKfkn6gqq1c8j86nkkt84n4ofob UNIQUE (idempotency_key),
+    INDEX idx_outbox_due (status, next_attempt_at),
+    INDEX idx_outbox_aggregate (aggregate_id, type, status)
+);
+
+CREATE TABLE IF NOT EXISTS product_media (
+    media_id VARCHAR(100) NOT NULL,
+    product_id BINARY(16) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    thumbnail BIT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (media_id),
+    INDEX idx_product_media_product (product_id)
+);
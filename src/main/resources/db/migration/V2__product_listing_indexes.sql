@@ -0,0 +1,15 @@
+-- Indexes of the product listings (ProductRepository), all ordered by (created_at, id) for the keyset
+-- pagination: with the filter columns first, an index serves the WHERE clause, the ORDER BY and the
+-- "(created_at, id) > (:createdAt, :id)" seek without a sort.
+
+-- Category, or category and status: paginated listings, streamed export, bulk changes and
+-- CategoryRepository.countProductsByCategoryId (index-only scan of the category_id prefix)
+CREATE INDEX idx_products_category_status_created ON products (category_id, status, created_at, id);
+
+-- Status only
+CREATE INDEX idx_products_status_created ON products (status, created_at, id);
+
+-- No filter
+CREATE INDEX idx_products_created ON products (created_at, id);
+
+-- CategoryRepository.findByNameAndNotDeleted is served by the unique index on categories (name)
@@ -0,0 +1,3 @@
+-- The outbox sends its messages with the service token (catalogue.outbox.service-token): the tokens of
+-- the users who made the changes are no longer kept with the messages
+ALTER TABLE outbox_messages DROP COLUMN auth_token;
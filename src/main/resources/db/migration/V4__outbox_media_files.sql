@@ -0,0 +1,20 @@
+-- Media files of the outbox media messages (MediaStaging), until sent to SCENA: kept in the database so
+-- that any node can send them. Stored in chunks of 1 MB, each below the max_allowed_packet of MySQL.
+
+-- A staged file, attached to its message in the transaction of the product write (message_id is null
+-- until then, and the file purged after the staging retention if the write did not commit)
+CREATE TABLE outbox_media_files (
+    id BINARY(16) NOT NULL,
+    message_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_outbox_media_files_unattached (message_id, created_at)
+);
+
+CREATE TABLE outbox_media_chunks (
+    file_id BINARY(16) NOT NULL,
+    seq INTEGER NOT NULL,
+    content MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (file_id, seq),
+    CONSTRAINT fk_outbox_media_chunks_file FOREIGN KEY (file_id) REFERENCES outbox_media_files (id) ON DELETE CASCADE
+);
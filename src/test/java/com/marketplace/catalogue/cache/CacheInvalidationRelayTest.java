@@ -0,0 +1,113 @@
+package com.marketplace.catalogue.cache;
+
+import com.marketplace.catalogue.config.EnrichmentCacheProperties;
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Published product and category changes go through the invalidation bus and evict this node's
+ * enrichment entries and dictionary snapshot, as do the invalidations received from other nodes
+ */
+class CacheInvalidationRelayTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final UUID OTHER_PRODUCT_ID = UUID.randomUUID();
+    private static final UUID CATEGORY_ID = UUID.randomUUID();
+
+    private final List<InvalidationEvent> published = new ArrayList<>();
+    private final LocalInvalidationBus bus = new LocalInvalidationBus() {
+        @Override
+        public void publish(InvalidationEvent event) {
+            published.add(event);
+            super.publish(event);
+        }
+    };
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CaffeineEnrichmentCache enrichmentCache = enrichmentCache();
+    private final CategoryDictionary dictionary = new CategoryDictionary(categoryRepository);
+    private final CacheInvalidationRelay relay = new CacheInvalidationRelay(bus, enrichmentCache, dictionary);
+
+    @Test
+    void productChangeEvictsItsEnrichmentEntries() {
+        cacheEnrichment(PRODUCT_ID);
+        cacheEnrichment(OTHER_PRODUCT_ID);
+
+        relay.onProductChanged(new ProductChangedEvent(PRODUCT_ID));
+
+        assertThat(published).containsExactly(InvalidationEvent.product(PRODUCT_ID));
+        assertThat(enrichmentCache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, PRODUCT_ID)).isNull();
+        assertThat(enrichmentCache.<String>getIfPresent(EnrichmentSource.DISCOUNT, PRODUCT_ID)).isNull();
+        assertThat(enrichmentCache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, OTHER_PRODUCT_ID))
+                .isEqualTo("thumbnail");
+    }
+
+    @Test
+    void categoryChangeRefreshesTheDictionary() {
+        when(categoryRepository.findAllActive()).thenReturn(List.of(category("Mobilier")));
+        dictionary.reload();
+        when(categoryRepository.findByIdAndNotDeleted(CATEGORY_ID)).thenReturn(Optional.of(category("Décoration")));
+
+        relay.onCategoryChanged(new CategoryChangedEvent(CATEGORY_ID));
+
+        assertThat(published).containsExactly(InvalidationEvent.category(CATEGORY_ID));
+        assertThat(dictionary.name(CATEGORY_ID)).isEqualTo("Décoration");
+    }
+
+    @Test
+    void deletedCategoryLeavesTheDictionary() {
+        when(categoryRepository.findAllActive()).thenReturn(List.of(category("Mobilier")));
+        dictionary.reload();
+        when(categoryRepository.findByIdAndNotDeleted(CATEGORY_ID)).thenReturn(Optional.empty());
+
+        relay.onCategoryChanged(new CategoryChangedEvent(CATEGORY_ID));
+
+        assertThat(dictionary.find(CATEGORY_ID)).isEmpty();
+    }
+
+    @Test
+    void invalidationFromAnotherNodeIsApplied() {
+        cacheEnrichment(PRODUCT_ID);
+
+        // Received from the bus without a local write
+        bus.publish(InvalidationEvent.product(PRODUCT_ID));
+
+        assertThat(enrichmentCache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, PRODUCT_ID)).isNull();
+    }
+
+    private void cacheEnrichment(UUID productId) {
+        enrichmentCache.get(EnrichmentSource.THUMBNAIL, productId, id -> Mono.just("thumbnail")).block();
+        enrichmentCache.get(EnrichmentSource.DISCOUNT, productId, id -> Mono.just("discount")).block();
+        assertThat(enrichmentCache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, productId)).isNotNull();
+    }
+
+    private static Category category(String name) {
+        Category category = new Category();
+        category.setId(CATEGORY_ID);
+        category.setName(name);
+        return category;
+    }
+
+    private static CaffeineEnrichmentCache enrichmentCache() {
+        EnrichmentCacheProperties properties = new EnrichmentCacheProperties();
+        for (EnrichmentSource source : List.of(EnrichmentSource.THUMBNAIL, EnrichmentSource.DISCOUNT)) {
+            EnrichmentCacheProperties.Source settings = new EnrichmentCacheProperties.Source();
+            settings.setTtl(Duration.ofMinutes(10));
+            settings.setRefreshAfter(Duration.ofMinutes(5));
+            properties.getSources().put(source, settings);
+        }
+        return new CaffeineEnrichmentCache(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,109 @@
+package com.marketplace.catalogue.cache;
+
+import com.marketplace.catalogue.config.EnrichmentCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaffeineEnrichmentCacheTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    @Test
+    void concurrentMissesShareOneLoad() {
+        CaffeineEnrichmentCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> downstream = Sinks.one();
+        Mono<String> first = cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return downstream.asMono();
+        });
+        Mono<String> second = cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        downstream.tryEmitValue("thumbnail");
+
+        assertThat(first.block()).isEqualTo("thumbnail");
+        assertThat(second.block()).isEqualTo("thumbnail");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void refreshReplacesStaleValue() {
+        CaffeineEnrichmentCache cache = cache(Duration.ZERO);
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> Mono.just("old")).block();
+
+        assertThat(cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> Mono.just("new")).block())
+                .isEqualTo("old");
+        assertThat(cache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, PRODUCT_ID)).isEqualTo("new");
+    }
+
+    @Test
+    void refreshCompletingAfterInvalidationIsDropped() {
+        CaffeineEnrichmentCache cache = cache(Duration.ZERO);
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> Mono.just("old")).block();
+        Sinks.One<String> refresh = Sinks.one();
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> refresh.asMono()).block();
+
+        // The product is written while the refresh is in flight: the refresh may have read the previous data
+        cache.invalidate(PRODUCT_ID);
+        refresh.tryEmitValue("read before the write");
+
+        assertThat(cache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, PRODUCT_ID)).isNull();
+        assertThat(cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> Mono.just("current")).block())
+                .isEqualTo("current");
+    }
+
+    @Test
+    void emptyAnswerIsCachedAndErrorIsNot() {
+        CaffeineEnrichmentCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger calls = new AtomicInteger();
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("down"));
+        }).onErrorResume(e -> Mono.empty()).block();
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.empty();
+        }).block();
+        cache.get(EnrichmentSource.THUMBNAIL, PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.just("thumbnail");
+        }).block();
+
+        assertThat(calls).hasValue(2);
+        assertThat(cache.<String>getIfPresent(EnrichmentSource.THUMBNAIL, PRODUCT_ID)).isNull();
+    }
+
+    @Test
+    void uncachedSourceCallsLoader() {
+        CaffeineEnrichmentCache cache = cache(Duration.ofMinutes(5));
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            cache.get(EnrichmentSource.REVIEWS, PRODUCT_ID, id -> Mono.just(calls.incrementAndGet())).block();
+        }
+
+        assertThat(calls).hasValue(2);
+    }
+
+    /**
+     * @param refreshAfter age after which a hit starts a background refresh (zero: every hit after the first load)
+     */
+    private static CaffeineEnrichmentCache cache(Duration refreshAfter) {
+        EnrichmentCacheProperties.Source settings = new EnrichmentCacheProperties.Source();
+        settings.setTtl(Duration.ofMinutes(10));
+        settings.setRefreshAfter(refreshAfter);
+        EnrichmentCacheProperties properties = new EnrichmentCacheProperties();
+        properties.getSources().put(EnrichmentSource.THUMBNAIL, settings);
+        return new CaffeineEnrichmentCache(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,104 @@
+package com.marketplace.catalogue.cache;
+
+import com.marketplace.catalogue.dto.CategoryInput;
+import com.marketplace.catalogue.dto.CategoryResponse;
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import com.marketplace.catalogue.service.impl.CategoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Category writes made through CategoryServiceImpl swap in a new dictionary snapshot (through the
+ * relay and the local invalidation bus), so that the reads that follow see the change without a query
+ */
+class CategoryDictionaryTest {
+
+    /** Rows of the categories table, soft-deleted ones included */
+    private final Map<UUID, Category> table = new LinkedHashMap<>();
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final CategoryDictionary dictionary = new CategoryDictionary(categoryRepository);
+    private final CacheInvalidationRelay relay = new CacheInvalidationRelay(new LocalInvalidationBus(),
+            mock(EnrichmentCache.class), dictionary);
+    // No transaction here: the relay is called as on fallback execution
+    private final CategoryServiceImpl categoryService = new CategoryServiceImpl(categoryRepository, dictionary,
+            event -> relay.onCategoryChanged((CategoryChangedEvent) event));
+
+    @BeforeEach
+    void stubTable() {
+        when(categoryRepository.findAllActive()).thenAnswer(invocation -> table.values().stream()
+                .filter(category -> !category.getIsDeleted()).toList());
+        when(categoryRepository.findByIdAndNotDeleted(any())).thenAnswer(invocation -> active(invocation.getArgument(0)));
+        when(categoryRepository.findByNameAndNotDeleted(anyString())).thenReturn(Optional.empty());
+        when(categoryRepository.save(any())).thenAnswer(invocation -> {
+            Category category = invocation.getArgument(0);
+            category.setCreatedAt(LocalDateTime.now());
+            table.put(category.getId(), category);
+            return category;
+        });
+        when(categoryRepository.softDeleteById(any())).thenAnswer(invocation -> {
+            table.get(invocation.<UUID>getArgument(0)).setIsDeleted(true);
+            return 1;
+        });
+        dictionary.reload();
+    }
+
+    @Test
+    void createdCategoryIsReadFromTheNewSnapshot() {
+        CategoryResponse created = categoryService.createCategory(input("Mobilier"));
+        clearInvocations(categoryRepository);
+
+        assertThat(categoryService.getCategoryById(created.getId()).getName()).isEqualTo("Mobilier");
+        assertThat(categoryService.getAllCategories()).extracting(CategoryResponse::getName).containsExactly("Mobilier");
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void renamedCategoryIsReadFromTheNewSnapshot() {
+        UUID categoryId = categoryService.createCategory(input("Mobilier")).getId();
+
+        categoryService.updateCategory(categoryId, input("Décoration"));
+        clearInvocations(categoryRepository);
+
+        assertThat(categoryService.getCategoryById(categoryId).getName()).isEqualTo("Décoration");
+        assertThat(dictionary.name(categoryId)).isEqualTo("Décoration");
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void deletedCategoryIsGoneFromTheNewSnapshot() {
+        UUID kept = categoryService.createCategory(input("Mobilier")).getId();
+        UUID deleted = categoryService.createCategory(input("Décoration")).getId();
+
+        assertThat(categoryService.deleteCategory(deleted)).isTrue();
+        clearInvocations(categoryRepository);
+
+        assertThat(categoryService.getCategoryById(deleted)).isNull();
+        assertThat(categoryService.getAllCategories()).extracting(CategoryResponse::getId).containsExactly(kept);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    private Optional<Category> active(UUID categoryId) {
+        return Optional.ofNullable(table.get(categoryId)).filter(category -> !category.getIsDeleted());
+    }
+
+    private static CategoryInput input(String name) {
+        CategoryInput input = new CategoryInput();
+        input.setName(name);
+        return input;
+    }
+}
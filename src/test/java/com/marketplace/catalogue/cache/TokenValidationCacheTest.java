@@ -0,0 +1,117 @@
+package com.marketplace.catalogue.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalogue.client.AriaServiceClient;
+import com.marketplace.catalogue.config.TokenCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenValidationCacheTest {
+
+    private final AriaServiceClient ariaServiceClient = mock(AriaServiceClient.class);
+    private final TokenCacheProperties properties = new TokenCacheProperties();
+    private final AtomicLong nanos = new AtomicLong();
+    private final TokenValidationCache cache = new TokenValidationCache(ariaServiceClient, new ObjectMapper(),
+            properties, new SimpleMeterRegistry(), nanos::get);
+
+    @Test
+    void acceptedTokenIsNotCachedBeyondItsExpiration() {
+        // Expires in a minute, before the five minutes of the TTL
+        String token = token(Instant.now().plusSeconds(60));
+        when(ariaServiceClient.fetchTokenValidation(token)).thenReturn(Mono.just(true));
+
+        assertThat(cache.isValid(token)).isTrue();
+        advance(Duration.ofSeconds(55));
+        assertThat(cache.isValid(token)).isTrue();
+        verify(ariaServiceClient, times(1)).fetchTokenValidation(token);
+
+        advance(Duration.ofSeconds(10));
+        assertThat(cache.isValid(token)).isTrue();
+        verify(ariaServiceClient, times(2)).fetchTokenValidation(token);
+    }
+
+    @Test
+    void acceptedTokenIsCachedForTheTtl() {
+        String token = token(Instant.now().plus(Duration.ofHours(1)));
+        when(ariaServiceClient.fetchTokenValidation(token)).thenReturn(Mono.just(true));
+
+        cache.isValid(token);
+        advance(properties.getTtl().minusSeconds(1));
+        cache.isValid(token);
+        verify(ariaServiceClient, times(1)).fetchTokenValidation(token);
+
+        advance(Duration.ofSeconds(2));
+        cache.isValid(token);
+        verify(ariaServiceClient, times(2)).fetchTokenValidation(token);
+    }
+
+    @Test
+    void rejectedTokenIsCachedForTheNegativeTtlOnly() {
+        String token = token(Instant.now().plus(Duration.ofHours(1)));
+        when(ariaServiceClient.fetchTokenValidation(token)).thenReturn(Mono.just(false));
+
+        assertThat(cache.isValid(token)).isFalse();
+        advance(properties.getNegativeTtl().minusSeconds(1));
+        assertThat(cache.isValid(token)).isFalse();
+        verify(ariaServiceClient, times(1)).fetchTokenValidation(token);
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.isValid(token)).isFalse();
+        verify(ariaServiceClient, times(2)).fetchTokenValidation(token);
+    }
+
+    @Test
+    void concurrentValidationsShareOneAriaCall() throws Exception {
+        String token = token(Instant.now().plus(Duration.ofHours(1)));
+        Sinks.One<Boolean> aria = Sinks.one();
+        when(ariaServiceClient.fetchTokenValidation(token)).thenReturn(aria.asMono());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CompletableFuture<?>[] validations = new CompletableFuture<?>[8];
+            for (int i = 0; i < validations.length; i++) {
+                validations[i] = CompletableFuture.supplyAsync(() -> cache.isValid(token), executor);
+            }
+            // All of them wait for the first ARIA answer
+            verify(ariaServiceClient, timeout(1000)).fetchTokenValidation(token);
+            aria.tryEmitValue(true);
+
+            for (CompletableFuture<?> validation : validations) {
+                assertThat(validation.get(1, TimeUnit.SECONDS)).isEqualTo(true);
+            }
+            verify(ariaServiceClient, times(1)).fetchTokenValidation(token);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static String token(Instant expiresAt) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(("{\"sub\":\"admin\",\"exp\":" + expiresAt.getEpochSecond() + "}")
+                        .getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+}
@@ -0,0 +1,68 @@
+package com.marketplace.catalogue.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLookupsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BatchLookups batchLookups = new BatchLookups(meterRegistry);
+
+    @Test
+    void collectsValuesAndLeavesOutFailedAndEmptyLookups() {
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        UUID failed = UUID.randomUUID();
+        UUID slow = UUID.randomUUID();
+
+        Map<UUID, String> values = batchLookups.collect("thumbnail", List.of(found, missing, failed, slow), id -> {
+            if (id.equals(found)) {
+                return Mono.just("thumbnail");
+            }
+            if (id.equals(failed)) {
+                return Mono.error(new IllegalStateException("unavailable"));
+            }
+            if (id.equals(slow)) {
+                return Mono.error(new TimeoutException());
+            }
+            return Mono.empty();
+        }, 4).block();
+
+        assertThat(values).containsExactly(Map.entry(found, "thumbnail"));
+        assertThat(meterRegistry.get("enrichment.degraded").tags("field", "thumbnail", "reason", "error")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("enrichment.degraded").tags("field", "thumbnail", "reason", "timeout")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void looksUpEachProductOnceWithBoundedConcurrency() {
+        UUID productId = UUID.randomUUID();
+        List<UUID> productIds = List.of(productId, UUID.randomUUID(), productId, UUID.randomUUID(), UUID.randomUUID());
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        Map<UUID, UUID> values = batchLookups.collect("inventory", productIds, id -> Mono.just(id)
+                .doOnSubscribe(subscription -> {
+                    calls.incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                })
+                .delayElement(Duration.ofMillis(20))
+                .doOnNext(value -> inFlight.decrementAndGet()), 2).block();
+
+        assertThat(values).hasSize(4);
+        assertThat(calls).hasValue(4);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+}
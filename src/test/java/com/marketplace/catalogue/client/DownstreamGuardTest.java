@@ -0,0 +1,130 @@
+package com.marketplace.catalogue.client;
+
+import com.marketplace.catalogue.config.EnrichmentProperties;
+import com.marketplace.catalogue.config.TokenHolder;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichment;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Enrichment with METRONOME hanging (a local stub that never answers): once its circuit is open or its
+ * bulkhead full, the inventory is degraded to null at once, without a request and without waiting for
+ * the client timeout (5s) or the latency budget
+ */
+class DownstreamGuardTest {
+
+    private static final Duration LATENCY_BUDGET = Duration.ofSeconds(10);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private DisposableServer metronome;
+    private MetronomeServiceClient metronomeClient;
+    private ProductEnrichmentAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        metronome = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.get("/inventory/{productId}", (request, response) -> {
+                    requests.incrementAndGet();
+                    return Mono.never();
+                }))
+                .bindNow();
+
+        DownstreamGuard guard = new DownstreamGuard(circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+        metronomeClient = new MetronomeServiceClient(WebClient.create("http://127.0.0.1:" + metronome.port()),
+                new TokenHolder(), guard, new SingleFlight(meterRegistry), new BatchLookups(meterRegistry));
+
+        ScenaServiceClient scenaClient = mock(ScenaServiceClient.class);
+        when(scenaClient.fetchThumbnailUrl(any())).thenReturn(Mono.just("thumbnail.jpg"));
+        when(scenaClient.fetchProductMediaUrls(any(UUID.class))).thenReturn(Mono.empty());
+        OrnamentoServiceClient ornamentoClient = mock(OrnamentoServiceClient.class);
+        when(ornamentoClient.fetchProductDiscount(any())).thenReturn(Mono.empty());
+        EchoServiceClient echoClient = mock(EchoServiceClient.class);
+        when(echoClient.fetchProductReviews(any(UUID.class))).thenReturn(Mono.empty());
+
+        EnrichmentProperties properties = new EnrichmentProperties();
+        properties.setLatencyBudget(LATENCY_BUDGET);
+        aggregator = new ProductEnrichmentAggregator(scenaClient, metronomeClient, ornamentoClient, echoClient,
+                properties, meterRegistry, ObservationRegistry.NOOP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metronome.dispose();
+    }
+
+    @Test
+    void openCircuitDegradesInventoryAtOnce() {
+        circuitBreakerRegistry.circuitBreaker("metronome").transitionToForcedOpenState();
+
+        long start = System.nanoTime();
+        ProductEnrichment enrichment = aggregator.enrich(UUID.randomUUID()).block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(enrichment.getInventory()).isNull();
+        assertThat(enrichment.getThumbnailUrl()).isEqualTo("thumbnail.jpg");
+        assertThat(requests).hasValue(0);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.counter("enrichment.degraded", "field", "inventory", "reason", "rejected").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void fullBulkheadDegradesInventoryAtOnce() throws InterruptedException {
+        // A hanging call holds the only permit of the bulkhead
+        Disposable hanging = metronomeClient.fetchProductInventory(UUID.randomUUID()).subscribe(value -> { }, error -> { });
+        try {
+            awaitRequests(1);
+
+            long start = System.nanoTime();
+            ProductEnrichment enrichment = aggregator.enrich(UUID.randomUUID()).block();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertThat(enrichment.getInventory()).isNull();
+            assertThat(enrichment.getThumbnailUrl()).isEqualTo("thumbnail.jpg");
+            assertThat(requests).hasValue(1);
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+            assertThat(meterRegistry.counter("enrichment.degraded", "field", "inventory", "reason", "rejected").count())
+                    .isEqualTo(1);
+        } finally {
+            hanging.dispose();
+        }
+    }
+
+    private void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (requests.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(requests).hasValue(expected);
+    }
+}
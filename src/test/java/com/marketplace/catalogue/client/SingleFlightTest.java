@@ -0,0 +1,114 @@
+package com.marketplace.catalogue.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void concurrentCallersShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> downstream = Sinks.one();
+        Mono<String> first = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return downstream.asMono();
+        });
+        Mono<String> second = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        Mono<String> firstResult = first.cache();
+        firstResult.subscribe();
+        Mono<String> secondResult = second.cache();
+        secondResult.subscribe();
+        downstream.tryEmitValue("thumbnail");
+
+        assertThat(firstResult.block()).isEqualTo("thumbnail");
+        assertThat(secondResult.block()).isEqualTo("thumbnail");
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("downstream.single-flight.coalesced").tag("operation", "scena.thumbnail")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callStartsOnSubscription() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> lookup = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> {
+            calls.incrementAndGet();
+            return Mono.just("thumbnail");
+        });
+
+        assertThat(calls).hasValue(0);
+        assertThat(lookup.block()).isEqualTo("thumbnail");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void completedCallIsNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> Mono.just(calls.incrementAndGet())).block();
+        }
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void callThrowingSynchronouslyFailsAndIsForgotten() {
+        Mono<String> failing = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> {
+            throw new IllegalStateException("no client");
+        });
+
+        assertThatIllegalStateException().isThrownBy(failing::block).withMessage("no client");
+        assertThat(singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> Mono.just("thumbnail"))
+                .block(Duration.ofSeconds(1))).isEqualTo("thumbnail");
+    }
+
+    @Test
+    void failedCallIsSharedAndForgotten() {
+        Sinks.One<String> downstream = Sinks.one();
+        Mono<String> first = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> downstream.asMono()).cache();
+        first.subscribe(value -> { }, error -> { });
+        Mono<String> second = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> Mono.just("other")).cache();
+        second.subscribe(value -> { }, error -> { });
+
+        downstream.tryEmitError(new IllegalStateException("unavailable"));
+
+        assertThatIllegalStateException().isThrownBy(first::block);
+        assertThatIllegalStateException().isThrownBy(second::block);
+        assertThat(singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> Mono.just("thumbnail")).block())
+                .isEqualTo("thumbnail");
+    }
+
+    @Test
+    void callerGivingUpDoesNotCancelSharedCall() {
+        Sinks.One<String> downstream = Sinks.one();
+        assertThatThrownBy(() -> singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> downstream.asMono())
+                .timeout(Duration.ofMillis(10))
+                .block())
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        Mono<String> waiting = singleFlight.execute("scena.thumbnail", PRODUCT_ID, id -> Mono.just("other")).cache();
+        waiting.subscribe();
+        downstream.tryEmitValue("thumbnail");
+
+        assertThat(waiting.block()).isEqualTo("thumbnail");
+    }
+}
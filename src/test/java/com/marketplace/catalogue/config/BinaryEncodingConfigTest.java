@@ -0,0 +1,112 @@
+package com.marketplace.catalogue.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.marketplace.catalogue.controller.ProductController;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.service.ProductImportService;
+import com.marketplace.catalogue.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The converters Spring Boot combines (its JSON converter bean in front of Spring MVC's defaults),
+ * extended by BinaryEncodingConfig: one converter per Jackson encoding, chosen with the Accept header
+ */
+class BinaryEncodingConfigTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ProductService productService = Mockito.mock(ProductService.class);
+    private final List<HttpMessageConverter<?>> converters = new ArrayList<>();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converters.addAll(new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .getConverters());
+        new BinaryEncodingConfig(Jackson2ObjectMapperBuilder.json()).extendMessageConverters(converters);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService,
+                        Mockito.mock(ProductImportService.class), objectMapper))
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .build();
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details());
+    }
+
+    @Test
+    void eachJacksonConverterIsRegisteredOnce() {
+        List<Class<?>> jacksonConverters = converters.stream()
+                .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+                .<Class<?>>map(Object::getClass)
+                .toList();
+
+        assertThat(jacksonConverters).doesNotHaveDuplicates().hasSize(3);
+    }
+
+    @Test
+    void cborIsWrittenWhenAccepted() throws Exception {
+        byte[] body = mockMvc.perform(get("/products/{id}", PRODUCT_ID).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(name(new ObjectMapper(new CBORFactory()), body)).isEqualTo("Casque audio");
+    }
+
+    @Test
+    void smileIsWrittenWhenAccepted() throws Exception {
+        byte[] body = mockMvc.perform(get("/products/{id}", PRODUCT_ID).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(name(new ObjectMapper(new SmileFactory()), body)).isEqualTo("Casque audio");
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/products/{id}", PRODUCT_ID).header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private static String name(ObjectMapper mapper, byte[] body) throws Exception {
+        JsonNode product = mapper.readTree(body).get("data");
+        return product.get("name").asText();
+    }
+
+    private static ProductDetails details() {
+        ProductDetails details = new ProductDetails(List.of("https://cdn/media-1.jpg"), null, 12, null);
+        details.setId(PRODUCT_ID);
+        details.setName("Casque audio");
+        details.setBasePrice(99.9);
+        details.setStatus(ProductStatus.available);
+        details.setUpdatedAt(LocalDateTime.of(2025, 3, 14, 15, 9, 26));
+        return details;
+    }
+}
@@ -0,0 +1,118 @@
+package com.marketplace.catalogue.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.service.ProductImportService;
+import com.marketplace.catalogue.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductETagsTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 14, 15, 9, 26);
+
+    private final ProductService productService = Mockito.mock(ProductService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService,
+                Mockito.mock(ProductImportService.class), new ObjectMapper())).build();
+    }
+
+    @Test
+    void matchingETagGetsNotModified() throws Exception {
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT, 12));
+        String eTag = getETag();
+
+        mockMvc.perform(get("/products/{id}", PRODUCT_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void rowUpdateChangesETag() throws Exception {
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT, 12));
+        String eTag = getETag();
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT.plusNanos(1000), 12));
+
+        mockMvc.perform(get("/products/{id}", PRODUCT_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void downstreamChangeChangesETag() throws Exception {
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT, 12));
+        String eTag = getETag();
+        // Inventory changed in METRONOME, the product row did not
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT, 11));
+
+        mockMvc.perform(get("/products/{id}", PRODUCT_ID).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"inventory\":11")));
+    }
+
+    @Test
+    void ifModifiedSinceAloneNeverGetsNotModified() throws Exception {
+        Mockito.when(productService.getProductDetails(PRODUCT_ID)).thenReturn(details(UPDATED_AT, 12));
+
+        mockMvc.perform(get("/products/{id}", PRODUCT_ID)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 18 Oct 2099 15:48:29 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void listETagFollowsItsProducts() throws Exception {
+        Mockito.when(productService.getAllProductDetails(null, null)).thenReturn(List.of(details(UPDATED_AT, 12)));
+        String eTag = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        Mockito.when(productService.getAllProductDetails(null, null)).thenReturn(List.of());
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    private String getETag() throws Exception {
+        String eTag = mockMvc.perform(get("/products/{id}", PRODUCT_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("W/\"");
+        return eTag;
+    }
+
+    private static ProductDetails details(LocalDateTime updatedAt, int inventory) {
+        ProductDetails details = new ProductDetails(List.of("https://cdn/media-1.jpg"), null, inventory, null);
+        details.setId(PRODUCT_ID);
+        details.setName("Casque audio");
+        details.setBasePrice(99.9);
+        details.setCategory("Électronique");
+        details.setThumbnailUrl("https://cdn/thumbnail.jpg");
+        details.setStatus(ProductStatus.available);
+        details.setUpdatedAt(updatedAt);
+        return details;
+    }
+}
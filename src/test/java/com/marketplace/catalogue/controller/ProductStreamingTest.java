@@ -0,0 +1,91 @@
+package com.marketplace.catalogue.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.marketplace.catalogue.dto.ProductDetails;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.service.ProductImportService;
+import com.marketplace.catalogue.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * NDJSON listing: one line per product, written as the service hands it over (see
+ * ProductServiceImplTest for the page by page reads)
+ */
+class ProductStreamingTest {
+
+    private final ProductService productService = Mockito.mock(ProductService.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService,
+                Mockito.mock(ProductImportService.class), objectMapper)).build();
+    }
+
+    @Test
+    void productsAreStreamedOnePerLine() throws Exception {
+        List<ProductDetails> products = List.of(details("Casque audio"), details("Enceinte"), details("Micro"));
+        Mockito.doAnswer(invocation -> {
+            Consumer<ProductDetails> consumer = invocation.getArgument(2);
+            products.forEach(consumer);
+            return null;
+        }).when(productService).streamProductDetails(isNull(), eq(ProductStatus.available), any());
+
+        MvcResult started = mockMvc.perform(get("/products").param("status", "available")
+                        .header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(objectMapper.readValue(lines.get(i), ProductDetails.class).getName())
+                    .isEqualTo(products.get(i).getName());
+        }
+        Mockito.verify(productService, Mockito.never()).getAllProductDetails(any(), any());
+    }
+
+    @Test
+    void invalidFilterIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/products").param("status", "sold")
+                        .header(HttpHeaders.ACCEPT, "application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(productService);
+    }
+
+    private static ProductDetails details(String name) {
+        ProductDetails details = new ProductDetails(List.of(), null, 3, null);
+        details.setId(UUID.randomUUID());
+        details.setName(name);
+        details.setBasePrice(49.9);
+        details.setStatus(ProductStatus.available);
+        return details;
+    }
+}
@@ -0,0 +1,146 @@
+package com.marketplace.catalogue.controller;
+
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.dto.ProductMeta;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.repository.ProductRepository;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichment;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import com.marketplace.catalogue.service.impl.ReactiveProductServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+/**
+ * Reactive read endpoints over the service, with the repository and the downstream calls mocked: the
+ * blocking JPA queries run on the JDBC scheduler, never on the thread of the request or on a
+ * non-blocking (event loop) thread
+ */
+class ReactiveProductControllerTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+
+    private final ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    private final ProductEnrichmentAggregator enrichmentAggregator = Mockito.mock(ProductEnrichmentAggregator.class);
+    private final List<Thread> queryThreads = new CopyOnWriteArrayList<>();
+    private Scheduler jdbcScheduler;
+    private ReactiveProductServiceImpl reactiveProductService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcScheduler = Schedulers.newBoundedElastic(2, 10, "jdbc");
+        reactiveProductService = new ReactiveProductServiceImpl(productRepository,
+                Mockito.mock(CategoryDictionary.class), enrichmentAggregator, jdbcScheduler);
+        webTestClient = MockMvcWebTestClient.bindToController(new ReactiveProductController(reactiveProductService))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcScheduler.dispose();
+    }
+
+    @Test
+    void productDetailsAreQueriedOnTheJdbcScheduler() {
+        Mockito.when(productRepository.findById(PRODUCT_ID)).thenAnswer(invocation -> query(Optional.of(product())));
+        Mockito.when(enrichmentAggregator.enrich(PRODUCT_ID))
+                .thenReturn(Mono.just(new ProductEnrichment("https://cdn/thumbnail.jpg", List.of(), 12, null, null)));
+
+        webTestClient.get().uri("/reactive/products/{id}", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.name").isEqualTo("Casque audio")
+                .jsonPath("$.data.inventory").isEqualTo(12)
+                .jsonPath("$.data.thumbnailUrl").isEqualTo("https://cdn/thumbnail.jpg");
+
+        assertQueriedOnJdbcScheduler();
+    }
+
+    @Test
+    void unknownProductIsNotFound() {
+        Mockito.when(productRepository.findById(PRODUCT_ID)).thenAnswer(invocation -> query(Optional.empty()));
+
+        webTestClient.get().uri("/reactive/products/{id}", PRODUCT_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        Mockito.verifyNoInteractions(enrichmentAggregator);
+    }
+
+    @Test
+    void productMetaListIsFilteredAndQueriedOnTheJdbcScheduler() {
+        Mockito.when(productRepository.findByStatus(ProductStatus.available)).thenAnswer(invocation -> query(List.of(product())));
+        Mockito.when(enrichmentAggregator.thumbnailUrls(anyCollection()))
+                .thenReturn(Mono.just(Map.of(PRODUCT_ID, "https://cdn/thumbnail.jpg")));
+
+        webTestClient.get().uri("/reactive/products/meta?status=available")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.length()").isEqualTo(1)
+                .jsonPath("$.data[0].thumbnailUrl").isEqualTo("https://cdn/thumbnail.jpg");
+
+        assertQueriedOnJdbcScheduler();
+        Mockito.verify(productRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void queryLeavesTheNonBlockingThreadItIsSubscribedOn() {
+        Mockito.when(productRepository.findById(PRODUCT_ID)).thenAnswer(invocation -> query(Optional.of(product())));
+        Mockito.when(enrichmentAggregator.thumbnailUrl(any())).thenReturn(Mono.empty());
+
+        // Subscribed from a non-blocking thread, as on a Reactor Netty event loop
+        ProductMeta meta = reactiveProductService.getProductMeta(PRODUCT_ID).subscribeOn(Schedulers.parallel()).block();
+
+        assertThat(meta.getName()).isEqualTo("Casque audio");
+        assertThat(meta.getThumbnailUrl()).isNull();
+
+        assertQueriedOnJdbcScheduler();
+    }
+
+    private <T> T query(T result) {
+        queryThreads.add(Thread.currentThread());
+        return result;
+    }
+
+    private void assertQueriedOnJdbcScheduler() {
+        assertThat(queryThreads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread.getName()).startsWith("jdbc-");
+            assertThat(thread).isNotEqualTo(Thread.currentThread());
+        });
+        assertThat(queryThreads).noneMatch(Schedulers::isNonBlockingThread);
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId(PRODUCT_ID);
+        product.setName("Casque audio");
+        product.setDescription("Casque audio sans fil");
+        product.setCategoryId(UUID.randomUUID());
+        product.setBasePrice(99.9);
+        product.setStatus(ProductStatus.available);
+        product.setCreatedAt(LocalDateTime.of(2025, 3, 14, 15, 9));
+        product.setUpdatedAt(LocalDateTime.of(2025, 3, 14, 15, 9));
+        return product;
+    }
+}
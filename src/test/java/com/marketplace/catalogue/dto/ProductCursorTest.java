@@ -0,0 +1,43 @@
+package com.marketplace.catalogue.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ProductCursorTest {
+
+    private static final UUID ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+
+    @Test
+    void decodesWhatItEncodes() {
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), ID);
+
+        assertThat(ProductCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsTimestampsWithoutSeconds() {
+        // LocalDateTime.toString() leaves out zero seconds
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2025, 1, 1, 12, 0), ID);
+
+        assertThat(ProductCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesToUrlSafeString() {
+        String encoded = new ProductCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 999_999_999), ID).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("not a cursor"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode(null));
+    }
+}
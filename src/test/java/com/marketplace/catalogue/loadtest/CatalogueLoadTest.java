@@ -0,0 +1,267 @@
+package com.marketplace.catalogue.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import com.marketplace.catalogue.repository.ProductRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: the application runs against an in-memory H2 database (MySQL mode) and
+ * local stand-ins of the five downstream services, and is driven by concurrent virtual users
+ * replaying a weighted mix of /products and /categories requests.
+ *
+ * Run with: mvn -P loadtest test
+ * Settings (system properties): loadtest.users (50), loadtest.duration (30s), loadtest.warmup (5s),
+ * loadtest.products (500), and per downstream service
+ * loadtest.<service>.median / p99 / error-rate / timeout-rate (see DownstreamBehaviour).
+ * Prints p50/p90/p99 latency and throughput per endpoint, and writes them to target/loadtest-report.json
+ *
+ * Traces are exported to a local OTLP collector stand-in (loadtest.trace-sampling, 1.0 by default;
+ * 0 turns tracing off), which reports the same percentiles per span name: the database lookups,
+ * each enrichment source and each downstream HTTP call of the measured requests.
+ */
+@Tag("loadtest")
+@AutoConfigureObservability
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CatalogueLoadTest {
+
+    private static final List<String> SERVICES = List.of("aria", "metronome", "scena", "echo", "ornamento");
+    private static final Map<String, MockDownstreamServer> downstreams = new LinkedHashMap<>();
+    private static MockOtlpCollector collector;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @DynamicPropertySource
+    static void downstreamServices(DynamicPropertyRegistry registry) {
+        for (String service : SERVICES) {
+            MockDownstreamServer server = downstreams.computeIfAbsent(service, MockDownstreamServer::start);
+            registry.add("catalogue.http.services." + service + ".base-url", server::baseUrl);
+        }
+
+        if (collector == null) {
+            collector = MockOtlpCollector.start();
+        }
+        String sampling = System.getProperty("loadtest.trace-sampling", "1.0");
+        registry.add("management.tracing.enabled", () -> Double.parseDouble(sampling) > 0);
+        registry.add("management.tracing.sampling.probability", () -> sampling);
+        registry.add("management.otlp.tracing.endpoint", collector::tracesEndpoint);
+    }
+
+    @AfterAll
+    static void stopDownstreamServices() {
+        downstreams.values().forEach(MockDownstreamServer::close);
+        downstreams.clear();
+        if (collector != null) {
+            collector.close();
+            collector = null;
+        }
+    }
+
+    @Test
+    void productAndCategoryWorkload() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        Duration warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "5s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "30s"));
+        List<UUID> productIds = seedProducts(Integer.getInteger("loadtest.products", 500));
+        List<UUID> categoryIds = categoryRepository.findAll().stream().map(Category::getId).toList();
+
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(
+                        ConnectionProvider.builder("loadtest").maxConnections(users).build())))
+                .build();
+        Workload workload = new Workload(client, productIds, categoryIds);
+
+        // Warm up (JIT, connection pools, caches), then measure
+        run(workload, users, warmup, null);
+        LatencyRecorder recorder = new LatencyRecorder();
+        collector.reset();
+        long start = System.nanoTime();
+        run(workload, users, duration, recorder);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<LatencyRecorder.Summary> summaries = recorder.summarize(elapsedSeconds);
+        report(users, elapsedSeconds, summaries, collector.summarize(elapsedSeconds));
+        assertThat(summaries.get(summaries.size() - 1).requests()).isPositive();
+    }
+
+    private static void run(Workload workload, int users, Duration duration, LatencyRecorder recorder) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, users)
+                .flatMap(user -> Mono.defer(() -> workload.next().execute(recorder))
+                        .repeat(() -> System.nanoTime() < deadline), users)
+                .blockLast();
+    }
+
+    private List<UUID> seedProducts(int count) {
+        List<Category> categories = categoryRepository.findAll();
+        List<Product> products = new ArrayList<>();
+        for (long i = productRepository.count(); i < count; i++) {
+            UUID categoryId = categories.get((int) (i % categories.size())).getId();
+            products.add(new Product(UUID.randomUUID(), "Produit de charge " + i,
+                    "Description du produit de charge " + i, categoryId, 100.0 + i,
+                    ProductStatus.available, null, null));
+        }
+        productRepository.saveAll(products);
+        return productRepository.findAll().stream().map(Product::getId).toList();
+    }
+
+    private static void report(int users, double elapsedSeconds, List<LatencyRecorder.Summary> summaries,
+                               List<LatencyRecorder.Summary> spans) throws Exception {
+        System.out.printf("%nLoad test: %d users, %.1fs%n", users, elapsedSeconds);
+        downstreams.values().forEach(server -> System.out.println("  downstream " + server));
+        System.out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.Summary summary : summaries) {
+            System.out.printf("%-28s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    summary.endpoint(), summary.requests(), summary.errors(), summary.throughput(),
+                    summary.p50Ms(), summary.p90Ms(), summary.p99Ms(), summary.maxMs());
+        }
+        if (collector.exports() > 0) {
+            System.out.printf("%nSpans received by the OTLP collector stand-in (%d exports, spans still buffered at the end are missing)%n",
+                    collector.exports());
+            System.out.printf("%-40s %9s %7s %9s %9s %9s %9s%n",
+                    "span", "spans", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            for (LatencyRecorder.Summary span : spans) {
+                System.out.printf("%-40s %9d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                        span.endpoint(), span.requests(), span.errors(),
+                        span.p50Ms(), span.p90Ms(), span.p99Ms(), span.maxMs());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("durationSeconds", elapsedSeconds);
+        Map<String, String> downstreamBehaviours = new LinkedHashMap<>();
+        downstreams.forEach((service, server) -> downstreamBehaviours.put(service, server.behaviour().toString()));
+        report.put("downstreams", downstreamBehaviours);
+        report.put("endpoints", summaries);
+        report.put("spans", spans);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(new File("target/loadtest-report.json"), report);
+    }
+
+    /**
+     * Weighted mix of the public read endpoints, plus a few authenticated category writes
+     */
+    private static final class Workload {
+
+        private final WebClient client;
+        private final List<UUID> productIds;
+        private final List<UUID> categoryIds;
+        private final List<Map.Entry<Integer, Supplier<Request>>> mix = new ArrayList<>();
+        private final int totalWeight;
+
+        Workload(WebClient client, List<UUID> productIds, List<UUID> categoryIds) {
+            this.client = client;
+            this.productIds = productIds;
+            this.categoryIds = categoryIds;
+            add(35, () -> get("GET /products/{id}", "/products/" + randomProduct()));
+            add(20, () -> get("GET /products?size=20", "/products?size=20"));
+            add(15, () -> get("GET /products/meta?size=50", "/products/meta?size=50&includeDescription=false"));
+            add(15, () -> get("GET /products/meta/{id}", "/products/meta/" + randomProduct()));
+            add(6, () -> get("GET /categories", "/categories"));
+            add(6, () -> get("GET /categories/{id}", "/categories/" + randomCategory()));
+            add(2, () -> get("GET /products?categoryId", "/products?categoryId=" + randomCategory() + "&size=20"));
+            add(1, this::createCategory);
+            this.totalWeight = mix.stream().mapToInt(Map.Entry::getKey).sum();
+        }
+
+        Request next() {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (Map.Entry<Integer, Supplier<Request>> entry : mix) {
+                pick -= entry.getKey();
+                if (pick < 0) {
+                    return entry.getValue().get();
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private void add(int weight, Supplier<Request> request) {
+            mix.add(Map.entry(weight, request));
+        }
+
+        private Request get(String name, String uri) {
+            return new Request(name, client.get().uri(uri).retrieve().toBodilessEntity());
+        }
+
+        private Request createCategory() {
+            Map<String, String> body = Map.of("name", "Catégorie " + UUID.randomUUID());
+            return new Request("POST /categories", client.post().uri("/categories")
+                    .header("Authorization", "Bearer load-test-token")
+                    .bodyValue(body)
+                    .retrieve()
+                    .toBodilessEntity());
+        }
+
+        private UUID randomProduct() {
+            return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        }
+
+        private UUID randomCategory() {
+            return categoryIds.get(ThreadLocalRandom.current().nextInt(categoryIds.size()));
+        }
+    }
+
+    private record Request(String name, Mono<?> call) {
+
+        Mono<Void> execute(LatencyRecorder recorder) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call
+                        .doOnSuccess(response -> {
+                            if (recorder != null) {
+                                recorder.record(name, System.nanoTime() - start, true);
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            if (recorder != null) {
+                                recorder.record(name, System.nanoTime() - start, false);
+                            }
+                            return Mono.empty();
+                        })
+                        .then();
+            });
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.marketplace.catalogue.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Behaviour of a mock downstream service: log-normal latency given by its median and p99,
+ * share of requests answered with a 503, and share of requests never answered in time.
+ *
+ * Read from system properties, e.g. -Dloadtest.scena.median=40ms -Dloadtest.scena.p99=400ms
+ * -Dloadtest.scena.error-rate=0.02 -Dloadtest.scena.timeout-rate=0.01
+ */
+record DownstreamBehaviour(Duration median, Duration p99, double errorRate, double timeoutRate) {
+
+    private static final double Z_99 = 2.3263;
+    static final Duration HANG = Duration.ofSeconds(30);
+
+    static DownstreamBehaviour fromSystemProperties(String service) {
+        return new DownstreamBehaviour(
+                duration("loadtest." + service + ".median", "20ms"),
+                duration("loadtest." + service + ".p99", "150ms"),
+                Double.parseDouble(System.getProperty("loadtest." + service + ".error-rate", "0")),
+                Double.parseDouble(System.getProperty("loadtest." + service + ".timeout-rate", "0")));
+    }
+
+    Duration sampleLatency() {
+        if (median.isZero()) {
+            return Duration.ZERO;
+        }
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Duration.ofNanos((long) (median.toNanos() * Math.exp(sigma * gaussian)));
+    }
+
+    boolean sampleError() {
+        return ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    boolean sampleTimeout() {
+        return ThreadLocalRandom.current().nextDouble() < timeoutRate;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        String value = System.getProperty(property, defaultValue).trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+
+    @Override
+    public String toString() {
+        return "median=" + median.toMillis() + "ms p99=" + p99.toMillis() + "ms errors=" + errorRate
+                + " timeouts=" + timeoutRate;
+    }
+}
@@ -0,0 +1,64 @@
+package com.marketplace.catalogue.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects response times per endpoint and summarizes them (count, errors, throughput, percentiles)
+ */
+final class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean success) {
+        latencies.computeIfAbsent(endpoint, name -> new ConcurrentLinkedQueue<>()).add(nanos);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, name -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * @param elapsedSeconds length of the measurement window
+     * @return one summary per endpoint, plus an "all" line
+     */
+    List<Summary> summarize(double elapsedSeconds) {
+        List<Summary> summaries = new ArrayList<>();
+        List<Long> all = new ArrayList<>();
+        long allErrors = 0;
+        for (Map.Entry<String, ConcurrentLinkedQueue<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+            long endpointErrors = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            summaries.add(summary(entry.getKey(), new ArrayList<>(entry.getValue()), endpointErrors, elapsedSeconds));
+            all.addAll(entry.getValue());
+            allErrors += endpointErrors;
+        }
+        summaries.add(summary("all", all, allErrors, elapsedSeconds));
+        return summaries;
+    }
+
+    private static Summary summary(String endpoint, List<Long> values, long errorCount, double elapsedSeconds) {
+        long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return new Summary(endpoint, sorted.length, errorCount, sorted.length / elapsedSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    record Summary(String endpoint, long requests, long errors, double throughput,
+                   double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    }
+}
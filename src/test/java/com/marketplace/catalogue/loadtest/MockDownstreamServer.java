@@ -0,0 +1,112 @@
+package com.marketplace.catalogue.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for one of the downstream services (aria, metronome, scena, echo, ornamento),
+ * answering the endpoints the catalogue calls with canned JSON and the configured behaviour.
+ */
+final class MockDownstreamServer implements AutoCloseable {
+
+    private final String service;
+    private final DownstreamBehaviour behaviour;
+    private final DisposableServer server;
+
+    private MockDownstreamServer(String service, DownstreamBehaviour behaviour) {
+        this.service = service;
+        this.behaviour = behaviour;
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes(service))
+                .bindNow();
+    }
+
+    static MockDownstreamServer start(String service) {
+        return new MockDownstreamServer(service, DownstreamBehaviour.fromSystemProperties(service));
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    DownstreamBehaviour behaviour() {
+        return behaviour;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Consumer<HttpServerRoutes> routes(String service) {
+        return switch (service) {
+            case "aria" -> routes -> routes
+                    .get("/users/validate", (request, response) -> json(response,
+                            "{\"valid\":true,\"userId\":\"u-1\",\"email\":\"admin@example.com\",\"role\":\"admin\"}"));
+            case "metronome" -> routes -> routes
+                    .get("/inventory/{productId}", (request, response) -> json(response,
+                            "{\"product_id\":\"" + request.param("productId") + "\",\"available_quantity\":42,\"reserved_quantity\":3}"))
+                    .post("/inventory/add", (request, response) -> empty(response))
+                    .post("/inventory/decrease", (request, response) -> empty(response));
+            case "scena" -> routes -> routes
+                    .get("/thumbnail", (request, response) -> json(response, mediaItem("m-1", true)))
+                    .get("/media", (request, response) -> json(response,
+                            "[" + mediaItem("m-1", true) + "," + mediaItem("m-2", false) + "," + mediaItem("m-3", false) + "]"))
+                    .post("/upload", (request, response) -> json(response, mediaItem("m-4", false)))
+                    .delete("/media", (request, response) -> empty(response));
+            case "echo" -> routes -> routes
+                    .get("/avis/{productId}", (request, response) -> json(response,
+                            "[{\"userId\":\"u-1\",\"produitId\":\"p\",\"commentaire\":\"Très bon produit\",\"note\":5,\"id\":\"r-1\",\"date\":\"2025-03-01T10:15:30\"},"
+                                    + "{\"userId\":\"u-2\",\"produitId\":\"p\",\"commentaire\":\"Correct\",\"note\":3,\"id\":\"r-2\",\"date\":\"2025-03-02T18:00:00\"}]"));
+            case "ornamento" -> routes -> routes
+                    .get("/promotions/{productId}", (request, response) -> json(response,
+                            "{\"id\":7,\"product_id\":1,\"discount_percentage\":15.0,\"start_date\":\"2025-01-01\",\"end_date\":\"2030-12-31\"}"))
+                    .post("/promotions", (request, response) -> empty(response))
+                    .put("/promotions/{promotionId}", (request, response) -> empty(response))
+                    .delete("/promotions/{promotionId}", (request, response) -> empty(response));
+            default -> throw new IllegalArgumentException("Unknown downstream service: " + service);
+        };
+    }
+
+    private Publisher<Void> json(HttpServerResponse response, String body) {
+        return respond(response, () -> response
+                .header("Content-Type", "application/json")
+                .sendString(Mono.just(body), StandardCharsets.UTF_8)
+                .then());
+    }
+
+    private Publisher<Void> empty(HttpServerResponse response) {
+        return respond(response, () -> response.status(HttpResponseStatus.OK).send());
+    }
+
+    private Publisher<Void> respond(HttpServerResponse response, Supplier<Mono<Void>> answer) {
+        if (behaviour.sampleTimeout()) {
+            return Mono.delay(DownstreamBehaviour.HANG).then(Mono.defer(answer));
+        }
+        Mono<Void> reply = behaviour.sampleError()
+                ? Mono.defer(() -> response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send().then())
+                : Mono.defer(answer);
+        return Mono.delay(behaviour.sampleLatency()).then(reply);
+    }
+
+    private static String mediaItem(String id, boolean thumbnail) {
+        return "{\"id\":\"" + id + "\",\"product_id\":\"p\",\"file_url\":\"https://cdn.example.com/" + id
+                + ".jpg\",\"file_type\":\"image\",\"is_thumbnail\":" + thumbnail + "}";
+    }
+
+    @Override
+    public String toString() {
+        return service + " (" + behaviour + ")";
+    }
+}
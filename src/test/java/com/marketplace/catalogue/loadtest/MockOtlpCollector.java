@@ -0,0 +1,165 @@
+package com.marketplace.catalogue.loadtest;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Local stand-in for an OpenTelemetry collector: accepts OTLP/HTTP trace exports on /v1/traces
+ * and records the duration of every received span by span name, so the load test can report
+ * where the time of a request goes (database lookups, enrichment sources, HTTP client calls).
+ *
+ * Only the few protobuf fields needed are decoded (span name, start and end time, status).
+ */
+final class MockOtlpCollector implements AutoCloseable {
+
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final DisposableServer server;
+    private final AtomicLong exports = new AtomicLong();
+    private volatile LatencyRecorder spans = new LatencyRecorder();
+
+    private MockOtlpCollector() {
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.post("/v1/traces", (request, response) -> request.receive()
+                        .aggregate()
+                        .asByteArray()
+                        .doOnNext(body -> {
+                            exports.incrementAndGet();
+                            readExportRequest(ByteBuffer.wrap(body));
+                        })
+                        .then(response.status(HttpResponseStatus.OK)
+                                .header("Content-Type", "application/x-protobuf")
+                                .send()
+                                .then())))
+                .bindNow();
+    }
+
+    static MockOtlpCollector start() {
+        return new MockOtlpCollector();
+    }
+
+    String tracesEndpoint() {
+        return "http://127.0.0.1:" + server.port() + "/v1/traces";
+    }
+
+    /**
+     * Drops the spans received so far (e.g. during the warm-up)
+     */
+    void reset() {
+        spans = new LatencyRecorder();
+    }
+
+    long exports() {
+        return exports.get();
+    }
+
+    /**
+     * @return one summary per span name, the "requests" column being the number of spans
+     */
+    List<LatencyRecorder.Summary> summarize(double elapsedSeconds) {
+        return spans.summarize(elapsedSeconds);
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private void readExportRequest(ByteBuffer request) {
+        // ExportTraceServiceRequest.resource_spans (1) > ResourceSpans.scope_spans (2) > ScopeSpans.spans (2)
+        forEachMessage(request, 1, resourceSpans ->
+                forEachMessage(resourceSpans, 2, scopeSpans ->
+                        forEachMessage(scopeSpans, 2, this::readSpan)));
+    }
+
+    private void readSpan(ByteBuffer span) {
+        String name = null;
+        long start = 0;
+        long end = 0;
+        boolean success = true;
+        while (span.hasRemaining()) {
+            long key = readVarint(span);
+            int field = (int) (key >>> 3);
+            int wireType = (int) (key & 7);
+            if (field == 5 && wireType == 2) { // name
+                ByteBuffer value = readLengthDelimited(span);
+                name = StandardCharsets.UTF_8.decode(value).toString();
+            } else if (field == 7 && wireType == 1) { // start_time_unix_nano
+                start = span.order(ByteOrder.LITTLE_ENDIAN).getLong();
+            } else if (field == 8 && wireType == 1) { // end_time_unix_nano
+                end = span.order(ByteOrder.LITTLE_ENDIAN).getLong();
+            } else if (field == 15 && wireType == 2) { // status
+                success = readStatusCode(readLengthDelimited(span)) != STATUS_CODE_ERROR;
+            } else {
+                skip(span, wireType);
+            }
+        }
+        if (name != null) {
+            spans.record(name, end - start, success);
+        }
+    }
+
+    private static long readStatusCode(ByteBuffer status) {
+        long code = 0;
+        while (status.hasRemaining()) {
+            long key = readVarint(status);
+            if (key >>> 3 == 3 && (key & 7) == 0) {
+                code = readVarint(status);
+            } else {
+                skip(status, (int) (key & 7));
+            }
+        }
+        return code;
+    }
+
+    private static void forEachMessage(ByteBuffer message, int field, Consumer<ByteBuffer> action) {
+        while (message.hasRemaining()) {
+            long key = readVarint(message);
+            int wireType = (int) (key & 7);
+            if (key >>> 3 == field && wireType == 2) {
+                action.accept(readLengthDelimited(message));
+            } else {
+                skip(message, wireType);
+            }
+        }
+    }
+
+    private static ByteBuffer readLengthDelimited(ByteBuffer buffer) {
+        int length = (int) readVarint(buffer);
+        ByteBuffer value = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static void skip(ByteBuffer buffer, int wireType) {
+        switch (wireType) {
+            case 0 -> readVarint(buffer);
+            case 1 -> buffer.position(buffer.position() + 8);
+            case 2 -> readLengthDelimited(buffer);
+            case 5 -> buffer.position(buffer.position() + 4);
+            default -> throw new IllegalArgumentException("Unsupported protobuf wire type " + wireType);
+        }
+    }
+}
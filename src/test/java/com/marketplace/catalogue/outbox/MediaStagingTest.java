@@ -0,0 +1,91 @@
+package com.marketplace.catalogue.outbox;
+
+import com.marketplace.catalogue.config.OutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Staged media files, on H2 (MySQL mode) with the schema created by the Flyway migrations
+ */
+@JdbcTest(properties = "spring.datasource.url=jdbc:h2:mem:catalogue_staging;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("loadtest")
+class MediaStagingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final OutboxProperties properties = new OutboxProperties();
+    private MediaStaging mediaStaging;
+
+    @BeforeEach
+    void setUp() {
+        mediaStaging = new MediaStaging(jdbcTemplate, properties);
+    }
+
+    @Test
+    void stagedFileIsStoredInChunksAndCopiedBack() throws Exception {
+        byte[] content = new byte[2 * MediaStaging.CHUNK_SIZE + 123];
+        new Random(42).nextBytes(content);
+
+        MediaChange.StagedFile file = mediaStaging.stage(
+                new MockMultipartFile("mediaFiles", "photo.jpg", "image/jpeg", content), false);
+
+        assertThat(file.name()).isEqualTo("photo.jpg");
+        assertThat(file.contentType()).isEqualTo("image/jpeg");
+        assertThat(file.size()).isEqualTo(content.length);
+        assertThat(file.contentHash()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(count("outbox_media_chunks")).isEqualTo(3);
+
+        Path copy = mediaStaging.copyToTemporaryFile(file);
+        try {
+            assertThat(Files.readAllBytes(copy)).isEqualTo(content);
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    void discardDeletesTheFileAndItsChunks() {
+        MediaChange.StagedFile file = mediaStaging.stage(
+                new MockMultipartFile("thumbnailFile", "thumb.png", "image/png", new byte[MediaStaging.CHUNK_SIZE + 1]), true);
+
+        mediaStaging.discard(List.of(file));
+
+        assertThat(count("outbox_media_files")).isZero();
+        assertThat(count("outbox_media_chunks")).isZero();
+    }
+
+    @Test
+    void purgeKeepsTheFilesAttachedToAMessage() {
+        properties.setStagingRetention(Duration.ZERO);
+        MediaChange.StagedFile attached = mediaStaging.stage(new MockMultipartFile("a", "a.jpg", "image/jpeg", new byte[10]), false);
+        mediaStaging.stage(new MockMultipartFile("b", "b.jpg", "image/jpeg", new byte[10]), false);
+        mediaStaging.attach(1L, List.of(attached));
+
+        mediaStaging.purgeUnattached();
+
+        assertThat(jdbcTemplate.queryForList("SELECT message_id FROM outbox_media_files", Long.class)).containsExactly(1L);
+        assertThat(count("outbox_media_chunks")).isEqualTo(1);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
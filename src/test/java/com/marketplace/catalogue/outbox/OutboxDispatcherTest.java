@@ -0,0 +1,174 @@
+package com.marketplace.catalogue.outbox;
+
+import com.marketplace.catalogue.config.OutboxProperties;
+import com.marketplace.catalogue.config.TokenHolder;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.OutboxMessageStatus;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxDispatcherTest {
+
+    private final OutboxMessageRepository repository = mock(OutboxMessageRepository.class);
+    private final ProductSideEffects sideEffects = mock(ProductSideEffects.class);
+    private final TokenHolder tokenHolder = new TokenHolder();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxProperties properties = new OutboxProperties();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties.setServiceToken("service-token");
+        properties.setConcurrency(2);
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofSeconds(1));
+        executor.setCorePoolSize(properties.getConcurrency());
+        executor.setMaxPoolSize(properties.getConcurrency());
+        executor.initialize();
+        dispatcher = new OutboxDispatcher(repository, sideEffects, mock(PlatformTransactionManager.class), executor,
+                tokenHolder, event -> { }, meterRegistry, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void deliveredMessageIsSentWithTheServiceTokenAndDeleted() {
+        OutboxMessage message = message(1L, 0);
+        String[] token = new String[1];
+        doAnswer(invocation -> token[0] = tokenHolder.getToken()).when(sideEffects).apply(message);
+        when(repository.findDue(any(), any())).thenReturn(List.of(message), List.of());
+
+        dispatcher.dispatch();
+
+        verify(repository, timeout(1000)).deleteById(1L);
+        verify(sideEffects, timeout(1000)).discard(message);
+        assertThat(token[0]).isEqualTo("service-token");
+        assertThat(message.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void failedMessageIsRetriedWithBackoff() {
+        OutboxMessage message = message(1L, 1);
+        doThrow(new RuntimeException("METRONOME unavailable")).when(sideEffects).apply(message);
+        when(repository.findDue(any(), any())).thenReturn(List.of(message), List.of());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        // Second attempt: twice the initial backoff
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository, timeout(1000)).reschedule(eq(1L), nextAttempt.capture(), eq("METRONOME unavailable"));
+        assertThat(nextAttempt.getValue()).isBetween(before.plusSeconds(2), LocalDateTime.now().plusSeconds(2));
+        verify(repository, never()).deleteById(any());
+        verify(repository, never()).markFailed(any(), anyString());
+        verify(sideEffects, never()).discard(message);
+    }
+
+    @Test
+    void messageIsGivenUpAfterTheMaximumAttempts() {
+        OutboxMessage message = message(1L, 2);
+        doThrow(new RuntimeException("SCENA unavailable")).when(sideEffects).apply(message);
+        when(repository.findDue(any(), any())).thenReturn(List.of(message), List.of());
+
+        dispatcher.dispatch();
+
+        verify(repository, timeout(1000)).markFailed(1L, "SCENA unavailable");
+        verify(sideEffects, timeout(1000)).discard(message);
+        verify(repository, never()).reschedule(any(), any(), any());
+        assertThat(meterRegistry.counter("outbox.messages", "type", "inventory", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowMessageDoesNotHoldBackThePolls() throws InterruptedException {
+        OutboxMessage slow = message(1L, 0);
+        OutboxMessage fast = message(2L, 0);
+        OutboxMessage next = message(3L, 0);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        CountDownLatch releaseFast = new CountDownLatch(1);
+        doAnswer(invocation -> releaseSlow.await(5, TimeUnit.SECONDS)).when(sideEffects).apply(slow);
+        doAnswer(invocation -> releaseFast.await(5, TimeUnit.SECONDS)).when(sideEffects).apply(fast);
+        when(repository.findDue(any(), any())).thenReturn(List.of(slow, fast), List.of(next), List.of());
+
+        // Returns while both messages are being sent, without claiming more
+        dispatcher.dispatch();
+        assertThat(meterRegistry.get("outbox.messages.in-flight").gauge().value()).isEqualTo(2);
+        releaseFast.countDown();
+        verify(repository, timeout(1000)).deleteById(2L);
+        awaitInFlight(1);
+
+        // The next poll only claims as many messages as there are free threads
+        dispatcher.dispatch();
+        verify(repository, timeout(1000)).deleteById(3L);
+        ArgumentCaptor<Pageable> limits = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository, atLeast(2)).findDue(any(), limits.capture());
+        assertThat(limits.getAllValues().subList(0, 2)).extracting(Pageable::getPageSize).containsExactly(2, 1);
+
+        releaseSlow.countDown();
+        verify(repository, timeout(1000)).deleteById(1L);
+        awaitInFlight(0);
+    }
+
+    @Test
+    void missingServiceTokenFailsAtStartup() {
+        properties.setServiceToken("");
+
+        assertThatThrownBy(() -> new OutboxDispatcher(repository, sideEffects, mock(PlatformTransactionManager.class),
+                executor, tokenHolder, event -> { }, new SimpleMeterRegistry(), properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("catalogue.outbox.service-token");
+    }
+
+    private void awaitInFlight(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get("outbox.messages.in-flight").gauge().value() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get("outbox.messages.in-flight").gauge().value()).isEqualTo(expected);
+    }
+
+    private static OutboxMessage message(Long id, int attempts) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setIdempotencyKey(UUID.randomUUID());
+        message.setAggregateId(UUID.randomUUID());
+        message.setType(OutboxMessageType.inventory);
+        message.setPayload("{}");
+        message.setStatus(OutboxMessageStatus.pending);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(LocalDateTime.now());
+        return message;
+    }
+}
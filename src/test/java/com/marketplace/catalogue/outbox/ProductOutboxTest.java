@@ -0,0 +1,121 @@
+package com.marketplace.catalogue.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.model.ProductMedia;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import com.marketplace.catalogue.repository.ProductMediaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Media replacing the current ones of a product: the files identical to current ones (same content
+ * hash) are neither uploaded nor deleted
+ */
+class ProductOutboxTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+
+    private final OutboxMessageRepository outboxMessageRepository = mock(OutboxMessageRepository.class);
+    private final ProductMediaRepository productMediaRepository = mock(ProductMediaRepository.class);
+    private final MediaStaging mediaStaging = mock(MediaStaging.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ProductOutbox productOutbox = new ProductOutbox(outboxMessageRepository, productMediaRepository,
+            mediaStaging, objectMapper);
+
+    @BeforeEach
+    void setUp() {
+        when(outboxMessageRepository.save(any())).thenAnswer(invocation -> {
+            OutboxMessage message = invocation.getArgument(0);
+            message.setId(1L);
+            return message;
+        });
+    }
+
+    @Test
+    void unchangedFileIsNeitherUploadedNorDeleted() throws Exception {
+        when(productMediaRepository.findByProductId(PRODUCT_ID)).thenReturn(List.of(
+                media("media-1", "hash-1", false), media("media-2", "hash-2", false)));
+        MediaChange.StagedFile same = file("hash-1", false);
+        MediaChange.StagedFile added = file("hash-3", false);
+
+        productOutbox.media(PRODUCT_ID, new StagedMedia(List.of(same, added)), true);
+
+        MediaChange change = sentChange();
+        assertThat(change.files()).containsExactly(added);
+        assertThat(change.oldMediaIds()).containsExactly("media-2");
+        verify(mediaStaging).discard(List.of(same));
+        verify(mediaStaging).attach(1L, List.of(added));
+    }
+
+    @Test
+    void partlyChangedMediaKeepTheirThumbnailAndMatchingFiles() throws Exception {
+        when(productMediaRepository.findByProductId(PRODUCT_ID)).thenReturn(List.of(
+                media("thumbnail", "hash-t", true),
+                media("media-1", "hash-1", false), media("media-2", "hash-2", false), media("media-3", "hash-3", false)));
+        MediaChange.StagedFile thumbnail = file("hash-t", true);
+        MediaChange.StagedFile kept = file("hash-2", false);
+        MediaChange.StagedFile added = file("hash-4", false);
+
+        productOutbox.media(PRODUCT_ID, new StagedMedia(List.of(thumbnail, kept, added)), true);
+
+        MediaChange change = sentChange();
+        assertThat(change.files()).containsExactly(added);
+        assertThat(change.oldThumbnailIds()).isEmpty();
+        assertThat(change.oldMediaIds()).containsExactly("media-1", "media-3");
+    }
+
+    @Test
+    void sameFilesAsTheCurrentOnesQueueNothing() {
+        when(productMediaRepository.findByProductId(PRODUCT_ID)).thenReturn(List.of(
+                media("thumbnail", "hash-t", true), media("media-1", "hash-1", false)));
+
+        productOutbox.media(PRODUCT_ID, new StagedMedia(List.of(file("hash-t", true), file("hash-1", false))), true);
+
+        verify(outboxMessageRepository, never()).save(any());
+    }
+
+    @Test
+    void filesAreNotComparedWhileAMediaMessageIsPending() throws Exception {
+        when(outboxMessageRepository.existsPending(PRODUCT_ID, OutboxMessageType.media)).thenReturn(true);
+        MediaChange.StagedFile same = file("hash-1", false);
+
+        productOutbox.media(PRODUCT_ID, new StagedMedia(List.of(same)), true);
+
+        MediaChange change = sentChange();
+        assertThat(change.files()).containsExactly(same);
+        // Looked up when the message is sent
+        assertThat(change.oldMediaIds()).isNull();
+        verify(productMediaRepository, never()).findByProductId(eq(PRODUCT_ID));
+    }
+
+    private MediaChange sentChange() throws Exception {
+        ArgumentCaptor<OutboxMessage> message = ArgumentCaptor.forClass(OutboxMessage.class);
+        verify(outboxMessageRepository).save(message.capture());
+        assertThat(message.getValue().getType()).isEqualTo(OutboxMessageType.media);
+        return objectMapper.readValue(message.getValue().getPayload(), MediaChange.class);
+    }
+
+    private static ProductMedia media(String mediaId, String contentHash, boolean thumbnail) {
+        return new ProductMedia(mediaId, PRODUCT_ID, contentHash, thumbnail, null);
+    }
+
+    private static MediaChange.StagedFile file(String contentHash, boolean thumbnail) {
+        return new MediaChange.StagedFile(UUID.randomUUID().toString(), contentHash + ".jpg", "image/jpeg", 1024,
+                thumbnail, contentHash, false);
+    }
+}
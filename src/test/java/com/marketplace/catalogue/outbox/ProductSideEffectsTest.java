@@ -0,0 +1,76 @@
+package com.marketplace.catalogue.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.marketplace.catalogue.client.MetronomeServiceClient;
+import com.marketplace.catalogue.client.OrnamentoServiceClient;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.dto.external.MetronomeInventoryRequest;
+import com.marketplace.catalogue.model.OutboxMessage;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.repository.OutboxMessageRepository;
+import com.marketplace.catalogue.repository.ProductMediaRepository;
+import com.marketplace.catalogue.service.media.MediaTransferPipeline;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Inventory messages: METRONOME is sent the difference with its current inventory, and nothing when
+ * it already has the target quantity
+ */
+class ProductSideEffectsTest {
+
+    private final MetronomeServiceClient metronomeServiceClient = mock(MetronomeServiceClient.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ProductSideEffects sideEffects = new ProductSideEffects(metronomeServiceClient,
+            mock(OrnamentoServiceClient.class), mock(ScenaServiceClient.class), mock(MediaTransferPipeline.class),
+            mock(MediaStaging.class), mock(OutboxMessageRepository.class), mock(ProductMediaRepository.class),
+            objectMapper);
+
+    @Test
+    void unchangedInventoryIsNotSent() throws Exception {
+        OutboxMessage message = inventory(12);
+        when(metronomeServiceClient.fetchProductInventory(message.getAggregateId())).thenReturn(Mono.just(12));
+
+        sideEffects.apply(message);
+
+        verify(metronomeServiceClient, never()).increaseInventory(any(), anyString());
+        verify(metronomeServiceClient, never()).decreaseInventory(any(), anyString());
+    }
+
+    @Test
+    void inventoryDifferenceIsSent() throws Exception {
+        OutboxMessage message = inventory(12);
+        when(metronomeServiceClient.fetchProductInventory(message.getAggregateId())).thenReturn(Mono.just(15));
+        when(metronomeServiceClient.decreaseInventory(any(), anyString())).thenReturn(Mono.empty());
+
+        sideEffects.apply(message);
+
+        ArgumentCaptor<MetronomeInventoryRequest> request = ArgumentCaptor.forClass(MetronomeInventoryRequest.class);
+        verify(metronomeServiceClient).decreaseInventory(request.capture(), anyString());
+        assertThat(request.getValue().getQuantity()).isEqualTo(3);
+        verify(metronomeServiceClient, never()).increaseInventory(any(), anyString());
+    }
+
+    private OutboxMessage inventory(int quantity) throws Exception {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(1L);
+        message.setIdempotencyKey(UUID.randomUUID());
+        message.setAggregateId(UUID.randomUUID());
+        message.setType(OutboxMessageType.inventory);
+        message.setPayload(objectMapper.writeValueAsString(new InventoryChange(quantity, false)));
+        message.setAttempts(1);
+        return message;
+    }
+}
@@ -0,0 +1,212 @@
+package com.marketplace.catalogue.repository;
+
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.model.ProductStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the hot catalogue queries: fails when one of them no longer uses its index and falls
+ * back to a full table scan (e.g. after a change of the query or of the db/migration scripts).
+ *
+ * Runs on H2 (MySQL mode) with the schema created by the Flyway migrations. The SQL explained is the
+ * one Hibernate generates for the repository method, with its parameters inlined as literals. The
+ * optional category and status filters are only written in the statement when given (ProductFilter):
+ * each combination is a statement of its own, and its plan does not depend on parameter values that
+ * MySQL does not see when it prepares the statement server-side.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogue_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.marketplace.catalogue.repository.QueryPlanTest$CapturedStatements"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("loadtest")
+class QueryPlanTest {
+
+    private static final UUID ID = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final String CATEGORY_STATUS_INDEX = "idx_products_category_status_created";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private ProductMediaRepository productMediaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void clearStatements() {
+        CapturedStatements.STATEMENTS.clear();
+    }
+
+    @Test
+    void productPageByCategoryAndStatusUsesCategoryIndex() {
+        productRepository.findPage(ID, ProductStatus.available, PageRequest.of(2, 20));
+        List<String> statements = captured(2);
+        assertUsesIndex(statements.get(0), CATEGORY_STATUS_INDEX, ID, ProductStatus.available, 40, 20);
+        assertUsesIndex(statements.get(1), CATEGORY_STATUS_INDEX, ID, ProductStatus.available);
+    }
+
+    @Test
+    void keysetPageByCategoryUsesCategoryIndex() {
+        productRepository.findSummariesAfter(ID, null, CREATED_AT, ID, PageRequest.ofSize(20));
+        assertUsesIndex(captured(1).get(0), CATEGORY_STATUS_INDEX, ID, CREATED_AT, CREATED_AT, ID, 20);
+    }
+
+    @Test
+    void keysetPageByCategoryAndStatusUsesCategoryIndex() {
+        productRepository.findKeysetPageAfter(ID, ProductStatus.available, CREATED_AT, ID, PageRequest.ofSize(20));
+        assertUsesIndex(captured(1).get(0), CATEGORY_STATUS_INDEX,
+                ID, ProductStatus.available, CREATED_AT, CREATED_AT, ID, 20);
+    }
+
+    @Test
+    void keysetPageByStatusUsesStatusIndex() {
+        productRepository.findSummariesAfter(null, ProductStatus.available, CREATED_AT, ID, PageRequest.ofSize(20));
+        assertUsesIndex(captured(1).get(0), "idx_products_status_created",
+                ProductStatus.available, CREATED_AT, CREATED_AT, ID, 20);
+    }
+
+    @Test
+    void unfilteredKeysetPageUsesCreationIndex() {
+        productRepository.findSummariesAfter(null, null, CREATED_AT, ID, PageRequest.ofSize(20));
+        assertUsesIndex(captured(1).get(0), "idx_products_created", CREATED_AT, CREATED_AT, ID, 20);
+    }
+
+    @Test
+    void productIdsByCategoryUseCategoryIndex() {
+        productRepository.findIds(ID, null);
+        assertUsesIndex(captured(1).get(0), CATEGORY_STATUS_INDEX, ID);
+    }
+
+    @Test
+    void productDeleteByCategoryUsesCategoryIndex() {
+        productRepository.bulkDelete(ID, null);
+        assertUsesIndex(captured(1).get(0), CATEGORY_STATUS_INDEX, ID);
+    }
+
+    @Test
+    void productUpdateByStatusUsesStatusIndex() {
+        productRepository.bulkUpdate(null, ProductStatus.available, 9.99, null, null, CREATED_AT);
+        assertUsesIndex(captured(1).get(0), "idx_products_status_created", CREATED_AT, 9.99, ProductStatus.available);
+    }
+
+    @Test
+    void mediaDeleteByCategoryUsesIndexes() {
+        productMediaRepository.deleteByProductFilter(ID, null);
+        String plan = explain(captured(1).get(0), ID);
+        assertThat(plan).contains("idx_product_media_product", CATEGORY_STATUS_INDEX);
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void productCountOfCategoryUsesCategoryIndex() {
+        categoryRepository.countProductsByCategoryId(ID);
+        assertUsesIndex(captured(1).get(0), CATEGORY_STATUS_INDEX, ID);
+    }
+
+    @Test
+    void categoryByNameUsesUniqueName() {
+        categoryRepository.findByNameAndNotDeleted("Livres");
+        assertUsesIndex(captured(1).get(0), "ukt8o6pivur7nn124jehx7cygw5", "Livres");
+    }
+
+    @Test
+    void dueOutboxMessagesUseOutboxIndexes() {
+        outboxMessageRepository.findDue(CREATED_AT, PageRequest.ofSize(10));
+        String plan = explain(captured(1).get(0), CREATED_AT, 10);
+        assertThat(plan).contains("idx_outbox_due", "idx_outbox_aggregate");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void pendingOutboxMessageLookupUsesAggregateIndex() {
+        outboxMessageRepository.existsPending(ID, OutboxMessageType.discount);
+        assertUsesIndex(captured(1).get(0), "idx_outbox_aggregate", ID, OutboxMessageType.discount);
+    }
+
+    @Test
+    void mediaOfProductUseProductIndex() {
+        productMediaRepository.findByProductId(ID);
+        assertUsesIndex(captured(1).get(0), "idx_product_media_product", ID);
+    }
+
+    private List<String> captured(int count) {
+        List<String> statements = List.copyOf(CapturedStatements.STATEMENTS);
+        assertThat(statements).hasSize(count);
+        return statements;
+    }
+
+    private void assertUsesIndex(String sql, String index, Object... parameters) {
+        String plan = explain(sql, parameters);
+        assertThat(plan).as("plan of %s", sql).contains(index).doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql, Object... parameters) {
+        String[] parts = sql.split("\\?", -1);
+        assertThat(parts.length - 1).as("parameters of %s", sql).isEqualTo(parameters.length);
+        StringBuilder statement = new StringBuilder("EXPLAIN ").append(parts[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.append(literal(parameters[i])).append(parts[i + 1]);
+        }
+        return new JdbcTemplate(dataSource).queryForObject(statement.toString(), String.class);
+    }
+
+    private static String literal(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof UUID uuid) {
+            ByteBuffer bytes = ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits());
+            return "X'" + HexFormat.of().formatHex(bytes.array()) + "'";
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "TIMESTAMP '" + dateTime.toString().replace('T', ' ') + "'";
+        }
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate
+     */
+    public static class CapturedStatements implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
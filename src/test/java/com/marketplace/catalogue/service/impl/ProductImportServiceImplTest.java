@@ -0,0 +1,125 @@
+package com.marketplace.catalogue.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.config.ProductImportProperties;
+import com.marketplace.catalogue.dto.ProductImportReport;
+import com.marketplace.catalogue.model.Category;
+import com.marketplace.catalogue.outbox.OutboxDispatcher;
+import com.marketplace.catalogue.outbox.ProductOutbox;
+import com.marketplace.catalogue.repository.CategoryRepository;
+import com.marketplace.catalogue.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports on H2 (MySQL mode), each chunk committed in its own transaction as in production
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:catalogue_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("loadtest")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductImportServiceImplTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private UUID categoryId;
+    private ProductImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Mobilier");
+        categoryId = category.getId();
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findAllActive()).thenReturn(List.of(category));
+        CategoryDictionary categoryDictionary = new CategoryDictionary(categoryRepository);
+        categoryDictionary.reload();
+
+        OutboxDispatcher outboxDispatcher = mock(OutboxDispatcher.class);
+        when(outboxDispatcher.dispatchNow(any())).thenReturn(CompletableFuture.completedFuture(Map.of()));
+        ProductImportProperties properties = new ProductImportProperties();
+        properties.setChunkSize(2);
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        importService = new ProductImportServiceImpl(entityManager, transactionManager, mock(ProductOutbox.class),
+                outboxDispatcher, categoryDictionary, Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper, properties);
+    }
+
+    @Test
+    void malformedContentStopsTheImportWithTheReportOfTheRowsRead() throws Exception {
+        String upload = row("Chaise") + row("Table") + row("Banc") + "{\"name\": \"Lampe\", \n" + row("Armoire");
+
+        ProductImportReport report = importService.importProducts(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), NDJSON);
+
+        // Rows 1 and 2 were committed as a chunk, row 3 is saved with the rows read before the error
+        assertThat(report.getTotal()).isEqualTo(4);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getRows().get(3).getStatus()).isEqualTo("rejected");
+        assertThat(report.getRows().get(3).getErrors()).singleElement().asString().startsWith("Malformed import content");
+        assertThat(report.getError()).isEqualTo("Malformed import content at row 4, the rows after it were not read");
+        assertThat(productRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void completeImportHasNoError() throws Exception {
+        String upload = row("Chaise") + row("Table") + row("Banc");
+
+        ProductImportReport report = importService.importProducts(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), NDJSON);
+
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getError()).isNull();
+    }
+
+    @Test
+    void unreadableUploadIsRejectedAsAWhole() {
+        assertThatThrownBy(() -> importService.importProducts(
+                new ByteArrayInputStream("{\"name\": ".getBytes(StandardCharsets.UTF_8)), NDJSON))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Malformed import content");
+        assertThat(productRepository.count()).isZero();
+    }
+
+    private String row(String name) {
+        return "{\"name\": \"" + name + "\", \"description\": \"Meuble en chêne massif\", \"categoryId\": \"" + categoryId
+                + "\", \"basePrice\": 89.9, \"inventory\": 5, \"status\": \"available\"}\n";
+    }
+}
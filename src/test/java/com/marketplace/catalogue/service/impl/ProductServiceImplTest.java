@@ -0,0 +1,265 @@
+package com.marketplace.catalogue.service.impl;
+
+import com.marketplace.catalogue.cache.CategoryDictionary;
+import com.marketplace.catalogue.cache.EnrichmentCache;
+import com.marketplace.catalogue.cache.EnrichmentSource;
+import com.marketplace.catalogue.config.EnrichmentProperties;
+import com.marketplace.catalogue.dto.Discount;
+import com.marketplace.catalogue.dto.ProductBulkResult;
+import com.marketplace.catalogue.dto.ProductBulkUpdate;
+import com.marketplace.catalogue.dto.ProductInput;
+import com.marketplace.catalogue.model.OutboxMessageType;
+import com.marketplace.catalogue.model.Product;
+import com.marketplace.catalogue.model.ProductStatus;
+import com.marketplace.catalogue.outbox.ProductOutbox;
+import com.marketplace.catalogue.repository.ProductRepository;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichment;
+import com.marketplace.catalogue.service.enrichment.ProductEnrichmentAggregator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Product writes with the repositories and the outbox mocked: the downstream changes they record, and
+ * the statements of bulk updates and deletes (the products given by ID are bound in chunks, those
+ * selected by filter are changed in one set-based statement)
+ */
+class ProductServiceImplTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductOutbox productOutbox = mock(ProductOutbox.class);
+    private final EnrichmentCache enrichmentCache = mock(EnrichmentCache.class);
+    private final ProductEnrichmentAggregator enrichmentAggregator = mock(ProductEnrichmentAggregator.class);
+    private final EnrichmentProperties enrichmentProperties = new EnrichmentProperties();
+    private final ProductServiceImpl productService = new ProductServiceImpl(productRepository,
+            mock(CategoryDictionary.class), enrichmentAggregator, enrichmentCache,
+            enrichmentProperties, ObservationRegistry.NOOP, event -> { }, productOutbox,
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void streamedProductsAreWrittenPageByPage() {
+        enrichmentProperties.setStreamChunkSize(2);
+        List<Product> products = Stream.generate(ProductServiceImplTest::product).limit(5).toList();
+        List<String> events = new ArrayList<>();
+        when(productRepository.findFirstKeysetPage(isNull(), isNull(), any()))
+                .thenAnswer(invocation -> read(events, products.subList(0, 2)));
+        when(productRepository.findKeysetPageAfter(isNull(), isNull(), any(), eq(products.get(1).getId()), any()))
+                .thenAnswer(invocation -> read(events, products.subList(2, 4)));
+        when(productRepository.findKeysetPageAfter(isNull(), isNull(), any(), eq(products.get(3).getId()), any()))
+                .thenAnswer(invocation -> read(events, products.subList(4, 5)));
+        when(enrichmentAggregator.enrichAll(anyCollection())).thenAnswer(invocation -> Mono.just(
+                invocation.<Collection<UUID>>getArgument(0).stream().collect(Collectors.toMap(id -> id,
+                        id -> new ProductEnrichment(null, null, 7, null, null)))));
+
+        productService.streamProductDetails(null, null, details -> events.add("write " + details.getId()));
+
+        // Each page is written before the next one is read; the last, short page ends the stream
+        assertThat(events).containsExactly(
+                "read 2",
+                "write " + products.get(0).getId(), "write " + products.get(1).getId(),
+                "read 2",
+                "write " + products.get(2).getId(), "write " + products.get(3).getId(),
+                "read 1",
+                "write " + products.get(4).getId());
+        verify(enrichmentAggregator, times(3)).enrichAll(anyCollection());
+    }
+
+    @Test
+    void updateByIdIsBoundInChunks() {
+        List<UUID> ids = ids(2500);
+        when(productRepository.bulkUpdateById(anyCollection(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+
+        ProductBulkResult result = productService.updateProducts(update(ids, null, 9.99, null));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(productRepository, times(3)).bulkUpdateById(chunks.capture(), eq(9.99), isNull(), isNull(), any());
+        assertThat(chunks.getAllValues()).extracting(Collection::size)
+                .containsExactly(ProductServiceImpl.ID_CHUNK_SIZE, ProductServiceImpl.ID_CHUNK_SIZE, 500);
+        assertThat(chunks.getAllValues().stream().flatMap(Collection::stream)).containsExactlyElementsOf(ids);
+        assertThat(result.getAffected()).isEqualTo(2500);
+    }
+
+    @Test
+    void updateByFilterWithDownstreamChangesIsSetBased() {
+        UUID categoryId = UUID.randomUUID();
+        when(productRepository.findIds(categoryId, ProductStatus.available)).thenReturn(ids(1500));
+
+        productService.updateProducts(update(null, categoryId, 9.99, 3));
+
+        verify(productRepository).bulkUpdate(eq(categoryId), eq(ProductStatus.available), eq(9.99), isNull(), isNull(), any());
+        verify(productRepository, never()).bulkUpdateById(anyCollection(), any(), any(), any(), any());
+        verify(productOutbox, times(1500)).inventory(any(), eq(3), eq(false));
+    }
+
+    @Test
+    void deleteByIdIsBoundInChunks() {
+        List<UUID> ids = ids(1200);
+        when(productRepository.findExistingIds(anyCollection()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+        when(productRepository.bulkDeleteById(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+
+        ProductBulkResult result = productService.deleteProducts(ids, null, null);
+
+        verify(productRepository, times(2)).findExistingIds(anyCollection());
+        verify(productRepository, times(2)).bulkDeleteById(anyCollection());
+        verify(productOutbox, times(2)).forgetMedia(anyCollection());
+        verify(productRepository, never()).bulkDelete(any(), any());
+        assertThat(result.getAffected()).isEqualTo(1200);
+    }
+
+    @Test
+    void deleteByFilterIsSetBased() {
+        UUID categoryId = UUID.randomUUID();
+        when(productRepository.findIds(categoryId, null)).thenReturn(ids(3));
+        when(productRepository.bulkDelete(categoryId, null)).thenReturn(3);
+
+        ProductBulkResult result = productService.deleteProducts(null, categoryId, null);
+
+        verify(productOutbox).forgetMedia(categoryId, null);
+        verify(productRepository, never()).bulkDeleteById(anyCollection());
+        assertThat(result.getAffected()).isEqualTo(3);
+    }
+
+    @Test
+    void discountEqualToTheCachedOneIsNotQueued() {
+        Product product = product();
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
+        when(enrichmentCache.getIfPresent(EnrichmentSource.DISCOUNT, product.getId())).thenReturn(discount());
+
+        productService.updateProduct(product.getId(), input(discount()));
+
+        verify(productOutbox, never()).discount(any(), any(), anyBoolean());
+        verify(productOutbox).inventory(product.getId(), 5, false);
+    }
+
+    @Test
+    void discountEqualToTheCachedOneIsQueuedWhileAnotherIsPending() {
+        Product product = product();
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
+        when(enrichmentCache.getIfPresent(EnrichmentSource.DISCOUNT, product.getId())).thenReturn(discount());
+        when(productOutbox.hasPending(product.getId(), OutboxMessageType.discount)).thenReturn(true);
+
+        productService.updateProduct(product.getId(), input(discount()));
+
+        verify(productOutbox).discount(product.getId(), discount(), false);
+    }
+
+    @Test
+    void changedDiscountIsQueued() {
+        Product product = product();
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.saveAndFlush(product)).thenReturn(product);
+        when(enrichmentCache.getIfPresent(EnrichmentSource.DISCOUNT, product.getId())).thenReturn(discount());
+        Discount changed = discount();
+        changed.setDiscountPercentage(20.0);
+
+        productService.updateProduct(product.getId(), input(changed));
+
+        verify(productOutbox).discount(product.getId(), changed, false);
+    }
+
+    @Test
+    void metaLookupRunsInItsOwnSpan() {
+        List<String> spans = new ArrayList<>();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                spans.add(context.getName() + " " + context.getContextualName());
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        ProductServiceImpl tracedService = new ProductServiceImpl(productRepository, mock(CategoryDictionary.class),
+                enrichmentAggregator, enrichmentCache, enrichmentProperties, observationRegistry, event -> { },
+                productOutbox, mock(PlatformTransactionManager.class));
+        Product product = product();
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(enrichmentAggregator.thumbnailUrl(product.getId())).thenReturn(Mono.just("https://scena/thumbnail.jpg"));
+
+        assertThat(tracedService.getProductMeta(product.getId())).isNotNull();
+        assertThat(spans).containsExactly("catalogue.lookup find product");
+    }
+
+    private static List<Product> read(List<String> events, List<Product> page) {
+        events.add("read " + page.size());
+        return page;
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Chaise");
+        product.setCategoryId(UUID.randomUUID());
+        product.setBasePrice(49.0);
+        product.setStatus(ProductStatus.available);
+        product.setCreatedAt(LocalDateTime.now());
+        return product;
+    }
+
+    private static ProductInput input(Discount discount) {
+        ProductInput input = new ProductInput();
+        input.setName("Chaise");
+        input.setDescription("Chaise en chêne massif");
+        input.setCategoryId(UUID.randomUUID());
+        input.setBasePrice(49.0);
+        input.setInventory(5);
+        input.setStatus("available");
+        input.setDiscount(discount);
+        return input;
+    }
+
+    private static Discount discount() {
+        return new Discount(10.0, 44.1, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30));
+    }
+
+    private static ProductBulkUpdate update(List<UUID> ids, UUID categoryId, Double basePrice, Integer inventory) {
+        ProductBulkUpdate.Changes changes = new ProductBulkUpdate.Changes();
+        changes.setBasePrice(basePrice);
+        changes.setInventory(inventory);
+        ProductBulkUpdate update = new ProductBulkUpdate();
+        update.setProductIds(ids);
+        update.setCategoryId(categoryId);
+        update.setStatus(categoryId != null ? "available" : null);
+        update.setChanges(changes);
+        return update;
+    }
+
+    private static List<UUID> ids(int count) {
+        return Stream.generate(UUID::randomUUID).limit(count).toList();
+    }
+}
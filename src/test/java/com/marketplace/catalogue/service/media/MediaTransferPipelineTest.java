@@ -0,0 +1,146 @@
+package com.marketplace.catalogue.service.media;
+
+import com.marketplace.catalogue.cache.PassThroughEnrichmentCache;
+import com.marketplace.catalogue.client.BatchLookups;
+import com.marketplace.catalogue.client.DownstreamGuard;
+import com.marketplace.catalogue.client.ScenaServiceClient;
+import com.marketplace.catalogue.client.SingleFlight;
+import com.marketplace.catalogue.config.MediaTransferProperties;
+import com.marketplace.catalogue.config.TokenHolder;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the pipeline against a local SCENA stub that takes UPLOAD_LATENCY per upload
+ */
+class MediaTransferPipelineTest {
+
+    private static final Duration UPLOAD_LATENCY = Duration.ofMillis(300);
+    private static final int FILE_SIZE = 2 * 1024 * 1024;
+
+    private final AtomicInteger uploadsInFlight = new AtomicInteger();
+    private final AtomicInteger maxUploadsInFlight = new AtomicInteger();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final List<String> deletedMediaIds = new ArrayList<>();
+
+    private DisposableServer scena;
+    private MediaTransferPipeline pipeline;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        scena = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .post("/upload", (request, response) -> {
+                            maxUploadsInFlight.accumulateAndGet(uploadsInFlight.incrementAndGet(), Math::max);
+                            return request.receive().aggregate().asString(StandardCharsets.ISO_8859_1)
+                                    .delayElement(UPLOAD_LATENCY)
+                                    .flatMap(body -> {
+                                        uploadsInFlight.decrementAndGet();
+                                        bytesReceived.addAndGet(body.length());
+                                        if (body.contains("filename=\"broken.jpg\"")) {
+                                            return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send().then();
+                                        }
+                                        String filename = body.replaceAll("(?s).*filename=\"([^\"]+)\".*", "$1");
+                                        return response.header("Content-Type", "application/json")
+                                                .sendString(Mono.just("{\"id\":\"media-" + filename + "\"}")).then();
+                                    });
+                        })
+                        .delete("/media", (request, response) -> {
+                            String mediaId = request.uri().substring(request.uri().indexOf("id_media=") + 9);
+                            synchronized (deletedMediaIds) {
+                                deletedMediaIds.add(mediaId);
+                            }
+                            return response.status(mediaId.equals("gone") ? HttpResponseStatus.NOT_FOUND : HttpResponseStatus.NO_CONTENT)
+                                    .send().then();
+                        }))
+                .bindNow();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ScenaServiceClient scenaClient = new ScenaServiceClient(
+                WebClient.create("http://127.0.0.1:" + scena.port()), new TokenHolder(), new PassThroughEnrichmentCache(),
+                new DownstreamGuard(CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), meterRegistry),
+                new SingleFlight(meterRegistry), new BatchLookups(meterRegistry));
+        MediaTransferProperties properties = new MediaTransferProperties();
+        properties.setConcurrency(4);
+        pipeline = new MediaTransferPipeline(scenaClient, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scena.disposeNow();
+    }
+
+    @Test
+    void uploadsFilesInParallelWithBoundedConcurrency() throws IOException {
+        List<MediaTransferPipeline.MediaFile> files = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            files.add(file("media-" + i + ".jpg", i == 0));
+        }
+
+        List<MediaTransferResult> results = pipeline.upload(UUID.randomUUID(), files).block();
+
+        assertThat(results).extracting(MediaTransferResult::mediaId)
+                .containsExactly(files.stream().map(file -> "media-" + file.name()).toArray(String[]::new));
+        assertThat(results).allMatch(MediaTransferResult::success);
+        assertThat(results.get(0).thumbnail()).isTrue();
+        assertThat(bytesReceived.get()).isGreaterThan(9L * FILE_SIZE);
+        // Four uploads overlap, never more
+        assertThat(maxUploadsInFlight.get()).isEqualTo(4);
+    }
+
+    @Test
+    void failedUploadDoesNotCancelTheOthers() throws IOException {
+        List<MediaTransferPipeline.MediaFile> files = List.of(
+                file("first.jpg", false), file("broken.jpg", false), file("last.jpg", false));
+
+        List<MediaTransferResult> results = pipeline.upload(UUID.randomUUID(), files).block();
+
+        assertThat(results).extracting(MediaTransferResult::success).containsExactly(true, false, true);
+        assertThat(results.get(1).error()).isEqualTo("error");
+        assertThat(results.get(2).mediaId()).isEqualTo("media-last.jpg");
+    }
+
+    @Test
+    void deletesMediaAndCountsMissingMediaAsDeleted() {
+        List<MediaTransferResult> results = pipeline.delete(UUID.randomUUID(), List.of("media-1", "gone"), false).block();
+
+        assertThat(results).extracting(MediaTransferResult::success).containsExactly(true, true);
+        assertThat(deletedMediaIds).containsExactlyInAnyOrder("media-1", "gone");
+    }
+
+    private MediaTransferPipeline.MediaFile file(String name, boolean thumbnail) throws IOException {
+        Path path = directory.resolve(name);
+        Files.write(path, new byte[FILE_SIZE]);
+        return new MediaTransferPipeline.MediaFile(new FileSystemResource(path), name, "image/jpeg", FILE_SIZE,
+                thumbnail, null);
+    }
+}